@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+# Compares a JMH JSON result with a baseline (score and gc.alloc.rate.norm per
+# benchmark/params) and exits 1 on a regression beyond the threshold.
+#
+#   benchmarks/compare.sh baselines/pr-123.json                    # against baselines/main.json
+#   benchmarks/compare.sh baselines/other.json baselines/pr-123.json 10
+#   GATE=all benchmarks/compare.sh baselines/pr-123.json           # also fail on time
+#
+# By default only allocation (B/op) gates: it barely depends on the machine, so it can be
+# compared with the checked-in main.json. Time deltas are printed but only gate with
+# GATE=all, for results recorded on the same machine and JDK.
+#
+# Needs jq.
+set -euo pipefail
+
+DIR="$(cd "$(dirname "$0")" && pwd)"
+GATE="${GATE:-alloc}"
+
+case $# in
+  1) BASE="$DIR/baselines/main.json"; CURRENT="$1"; THRESHOLD=10 ;;
+  2|3) BASE="$1"; CURRENT="$2"; THRESHOLD="${3:-10}" ;;
+  *)
+    echo "usage: $0 [baseline.json] <current.json> [threshold-percent]" >&2
+    exit 2
+    ;;
+esac
+
+if [ "$GATE" != "alloc" ] && [ "$GATE" != "all" ]; then
+  echo "GATE must be alloc or all, got '$GATE'" >&2
+  exit 2
+fi
+
+for result in "$BASE" "$CURRENT"; do
+  if [ ! -s "$result" ]; then
+    echo "No JMH result at $result. Record one with benchmarks/run-baseline.sh <name>" >&2
+    echo "(baselines/main.json is recorded from main with 'run-baseline.sh main' and committed)." >&2
+    exit 2
+  fi
+done
+
+summarise() {
+  jq -r '.[] | [
+      (.benchmark | split(".") | .[-2:] | join(".")) + ((.params // {}) | to_entries | map("[" + .key + "=" + .value + "]") | join("")),
+      .primaryMetric.score,
+      (.secondaryMetrics["gc.alloc.rate.norm"].score // 0)
+    ] | @tsv' "$1" | sort
+}
+
+ROWS="$(join -t $'\t' <(summarise "$BASE") <(summarise "$CURRENT"))"
+if [ -z "$ROWS" ]; then
+  echo "$BASE and $CURRENT have no benchmark in common; nothing to compare" >&2
+  exit 2
+fi
+
+printf '%s\n' "$ROWS" | awk -F'\t' -v limit="$THRESHOLD" -v gate="$GATE" '
+  function pct(old, new) { return old == 0 ? 0 : (new - old) * 100 / old }
+  BEGIN {
+    printf "%-60s %12s %12s %8s %14s %14s %8s\n", "benchmark", "base", "current", "time%", "base B/op", "current B/op", "alloc%"
+  }
+  {
+    t = pct($2, $4); a = pct($3, $5)
+    flag = (a > limit || (gate == "all" && t > limit)) ? "  <-- regression" : ""
+    if (flag != "") failed = 1
+    printf "%-60s %12.3f %12.3f %+7.1f%% %14.0f %14.0f %+7.1f%%%s\n", $1, $2, $4, t, $3, $5, a, flag
+  }
+  END { exit failed }'
@@ -0,0 +1,22 @@
+#!/usr/bin/env bash
+# Builds the service and the benchmark jar, runs every benchmark with the GC profiler and
+# writes the JMH JSON result to baselines/<name>.json (default: the current commit).
+#
+#   benchmarks/run-baseline.sh            # -> baselines/<short-sha>.json
+#   benchmarks/run-baseline.sh main       # -> baselines/main.json
+#   JMH_ARGS="PageResponse" benchmarks/run-baseline.sh pr-123
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+NAME="${1:-$(git -C "$ROOT" rev-parse --short HEAD)}"
+
+mvn -B -q -f "$ROOT/pom.xml" install -DskipTests
+mvn -B -q -f "$ROOT/benchmarks/pom.xml" package
+
+mkdir -p "$ROOT/benchmarks/baselines"
+java -jar "$ROOT/benchmarks/target/benchmarks.jar" \
+    -prof gc \
+    -rf json -rff "$ROOT/benchmarks/baselines/${NAME}.json" \
+    ${JMH_ARGS:-}
+
+echo "Wrote benchmarks/baselines/${NAME}.json"
@@ -0,0 +1,54 @@
+package com.confiance.investment.benchmarks;
+
+import com.confiance.investment.entity.Recommendation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recommendation.calculateFields runs on every persist and update (BigDecimal division
+ * for the risk-reward ratio and the stored return/risk metrics).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CalculateFieldsBenchmark {
+
+    private Recommendation open;
+    private Recommendation closed;
+
+    @Setup
+    public void setUp() {
+        open = RecommendationFixtures.entity(42);
+        open.setSellPrice(null);
+        open.setExitDate(null);
+
+        closed = RecommendationFixtures.entity(43);
+        closed.setSellPrice(closed.getTargetPrice());
+        closed.setExitDate(closed.getRecommendationDate().plusDays(30));
+    }
+
+    @Benchmark
+    public Recommendation openRecommendation() {
+        open.calculateFields();
+        return open;
+    }
+
+    @Benchmark
+    public Recommendation closedRecommendation() {
+        closed.calculateFields();
+        return closed;
+    }
+}
@@ -0,0 +1,134 @@
+package com.confiance.investment.benchmarks;
+
+import com.confiance.common.security.JwtAuthenticationFilter;
+import com.confiance.common.security.JwtUtil;
+import com.confiance.investment.security.CachingJwtAuthenticationFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost on a GET /open call: the common-lib
+ * JwtAuthenticationFilter on every request vs the same filter behind
+ * CachingJwtAuthenticationFilter, wired as SecurityConfig wires them. JwtUtil is built by
+ * Spring from the service's default jwt.* settings.
+ * <p>
+ * The token is HS256-signed with jwt.secret and carries sub, userId and roles. If the
+ * common-lib filter expects other claims, pass a valid token with -Dbenchmark.jwt=...
+ * (and its secret with -Djwt.secret=...); setup fails rather than measure a rejected token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JwtAuthenticationBenchmark {
+
+    // Defaults of application.yml
+    private static final String SECRET = System.getProperty("jwt.secret",
+            "confianceSecretKeyForJWTTokenGenerationAndValidation2024");
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private AnnotationConfigApplicationContext context;
+    private Filter verifying;
+    private Filter caching;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("jwt", Map.of(
+                "jwt.secret", SECRET,
+                "jwt.expiration", "86400000",
+                "jwt.refresh-expiration", "604800000")));
+        context.registerBean(JwtUtil.class);
+        context.refresh();
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+
+        verifying = new JwtAuthenticationFilter(jwtUtil);
+        caching = new CachingJwtAuthenticationFilter(new JwtAuthenticationFilter(jwtUtil), new ObjectMapper(),
+                10_000, Duration.ofMinutes(15), new SimpleMeterRegistry());
+
+        String token = System.getProperty("benchmark.jwt");
+        if (token == null) {
+            token = signedToken();
+        }
+        request = new MockHttpServletRequest("GET", "/api/v1/recommendations/open");
+        request.addHeader("Authorization", "Bearer " + token);
+        request.setRemoteAddr("10.0.0.1");
+
+        Object authentication = run(verifying);
+        if (!(authentication instanceof Authentication accepted) || !accepted.isAuthenticated()) {
+            throw new IllegalStateException("JwtAuthenticationFilter did not authenticate the benchmark token;"
+                    + " pass a valid one with -Dbenchmark.jwt=... (and -Djwt.secret=...)");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    public Object verifyEveryRequest() throws Exception {
+        return run(verifying);
+    }
+
+    @Benchmark
+    public Object cachedToken() throws Exception {
+        return run(caching);
+    }
+
+    private Object run(Filter filter) throws Exception {
+        // OncePerRequestFilter marks the request; a fresh attribute set per call keeps it re-entrant
+        request.clearAttributes();
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static String signedToken() throws GeneralSecurityException {
+        String header = base64Url("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = base64Url(("{\"sub\":\"investor@example.com\",\"userId\":42,\"roles\":[\"USER\"],\"iat\":"
+                + Instant.now().getEpochSecond() + ",\"exp\":" + Instant.now().plus(Duration.ofDays(1)).getEpochSecond() + "}")
+                .getBytes(StandardCharsets.UTF_8));
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] signature = mac.doFinal((header + "." + payload).getBytes(StandardCharsets.US_ASCII));
+        return header + "." + payload + "." + base64Url(signature);
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
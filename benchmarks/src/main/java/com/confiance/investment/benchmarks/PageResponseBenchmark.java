@@ -0,0 +1,53 @@
+package com.confiance.investment.benchmarks;
+
+import com.confiance.common.dto.PageResponse;
+import com.confiance.investment.dto.RecommendationResponse;
+import com.confiance.investment.dto.RecommendationSummary;
+import com.confiance.investment.service.RecommendationMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the list-endpoint PageResponse from a page of projections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PageResponseBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int rows;
+
+    private final RecommendationMapper mapper = new RecommendationMapper();
+
+    private Page<RecommendationSummary> page;
+
+    @Setup
+    public void setUp() {
+        List<RecommendationSummary> content = RecommendationFixtures.summaries(rows);
+        page = new PageImpl<>(content, PageRequest.of(0, rows), rows * 10L);
+    }
+
+    @Benchmark
+    public PageResponse<RecommendationResponse> buildPageResponse() {
+        return mapper.buildPageResponse(page);
+    }
+}
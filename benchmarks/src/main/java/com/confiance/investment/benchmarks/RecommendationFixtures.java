@@ -0,0 +1,83 @@
+package com.confiance.investment.benchmarks;
+
+import com.confiance.common.enums.Market;
+import com.confiance.common.enums.RecommendationStatus;
+import com.confiance.common.enums.RecommendationType;
+import com.confiance.investment.dto.RecommendationSummary;
+import com.confiance.investment.entity.Recommendation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic test data shaped like production rows (seeded, so every run and every
+ * baseline sees the same values).
+ */
+final class RecommendationFixtures {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private RecommendationFixtures() {
+    }
+
+    static Recommendation entity(long id) {
+        Random random = new Random(id);
+        BigDecimal entry = price(random, 50, 3000);
+        boolean closed = random.nextInt(4) == 0;
+        LocalDate date = START.plusDays(id % 365);
+
+        Recommendation recommendation = Recommendation.builder()
+                .id(id)
+                .market(pick(Market.values(), random))
+                .currency("INR")
+                .tickerSymbol("TICK" + (id % 500))
+                .companyName("Company " + (id % 500) + " Limited")
+                .tradeType(pick(RecommendationType.values(), random))
+                .recommendationDate(date)
+                .entryPrice(entry)
+                .targetPrice(entry.multiply(BigDecimal.valueOf(1.05 + random.nextDouble() * 0.2)).setScale(2, RoundingMode.HALF_UP))
+                .stopLoss(entry.multiply(BigDecimal.valueOf(0.9 + random.nextDouble() * 0.05)).setScale(2, RoundingMode.HALF_UP))
+                .sellPrice(closed ? price(random, 50, 3000) : null)
+                .exitDate(closed ? date.plusDays(random.nextInt(90)) : null)
+                .status(RecommendationStatus.OPEN)
+                .remarks("Breakout above resistance with volume confirmation")
+                .createdByUserId(1L)
+                .createdAt(date.atStartOfDay())
+                .updatedAt(LocalDateTime.of(date, LocalTime.NOON))
+                .build();
+        recommendation.calculateFields();
+        return recommendation;
+    }
+
+    static RecommendationSummary summary(long id) {
+        Recommendation r = entity(id);
+        return new RecommendationSummary(r.getId(), r.getMarket(), r.getCurrency(), r.getTickerSymbol(),
+                r.getCompanyName(), r.getTradeType(), r.getRecommendationDate(), r.getEntryPrice(),
+                r.getTargetPrice(), r.getStopLoss(), r.getRiskRewardRatio(), r.getPotentialReturn(),
+                r.getPotentialReturnPercentage(), r.getPotentialRisk(), r.getSellPrice(), r.getExitDate(),
+                r.getHoldingPeriodDays(), r.getStatus(), r.getRemarks(), r.getCreatedByUserId(),
+                r.getCreatedAt(), r.getUpdatedAt());
+    }
+
+    static List<RecommendationSummary> summaries(int count) {
+        List<RecommendationSummary> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            rows.add(summary(i));
+        }
+        return rows;
+    }
+
+    private static BigDecimal price(Random random, int min, int max) {
+        return BigDecimal.valueOf(min + random.nextDouble() * (max - min)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static <T> T pick(T[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
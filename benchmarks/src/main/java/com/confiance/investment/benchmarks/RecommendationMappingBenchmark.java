@@ -0,0 +1,52 @@
+package com.confiance.investment.benchmarks;
+
+import com.confiance.investment.dto.RecommendationResponse;
+import com.confiance.investment.dto.RecommendationSummary;
+import com.confiance.investment.entity.Recommendation;
+import com.confiance.investment.service.RecommendationMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-row mapping cost: entity to response (write paths, by-id reads) and projection
+ * to response (list reads).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RecommendationMappingBenchmark {
+
+    private final RecommendationMapper mapper = new RecommendationMapper();
+
+    private Recommendation entity;
+    private RecommendationSummary summary;
+
+    @Setup
+    public void setUp() {
+        entity = RecommendationFixtures.entity(42);
+        summary = RecommendationFixtures.summary(42);
+    }
+
+    @Benchmark
+    public RecommendationResponse entityToResponse() {
+        return mapper.toResponse(entity);
+    }
+
+    @Benchmark
+    public RecommendationResponse summaryToResponse() {
+        return mapper.toResponse(summary);
+    }
+}
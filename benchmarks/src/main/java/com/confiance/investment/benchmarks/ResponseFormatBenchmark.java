@@ -0,0 +1,86 @@
+package com.confiance.investment.benchmarks;
+
+import com.confiance.common.dto.ApiResponse;
+import com.confiance.common.dto.PageResponse;
+import com.confiance.investment.dto.RecommendationResponse;
+import com.confiance.investment.protobuf.ProtobufResponseEncoder;
+import com.confiance.investment.service.RecommendationMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding a list-endpoint body in each format the service negotiates: JSON, CBOR and
+ * protobuf. Payload sizes for the same bodies come from ResponseFormatSizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ResponseFormatBenchmark {
+
+    public enum Format {
+        JSON, CBOR, PROTOBUF
+    }
+
+    static final ResolvableType PAGE_BODY_TYPE = ResolvableType.forClassWithGenerics(ApiResponse.class,
+            ResolvableType.forClassWithGenerics(PageResponse.class, RecommendationResponse.class));
+
+    @Param({"20", "100", "1000"})
+    private int rows;
+
+    @Param({"JSON", "CBOR", "PROTOBUF"})
+    private Format format;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<PageResponse<RecommendationResponse>> body;
+
+    @Setup
+    public void setUp() {
+        objectMapper = mapper(format);
+        body = body(rows);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return encode(format, objectMapper, body);
+    }
+
+    static ObjectMapper mapper(Format format) {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case JSON, PROTOBUF -> Jackson2ObjectMapperBuilder.json();
+            case CBOR -> Jackson2ObjectMapperBuilder.cbor();
+        };
+        return builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false)).build();
+    }
+
+    static ApiResponse<PageResponse<RecommendationResponse>> body(int rows) {
+        PageResponse<RecommendationResponse> page = new RecommendationMapper().buildPageResponse(
+                new PageImpl<>(RecommendationFixtures.summaries(rows), PageRequest.of(0, rows), rows * 10L));
+        return ApiResponse.success(page);
+    }
+
+    static byte[] encode(Format format, ObjectMapper objectMapper, Object body) throws Exception {
+        return format == Format.PROTOBUF
+                ? ProtobufResponseEncoder.encode(body, PAGE_BODY_TYPE)
+                : objectMapper.writeValueAsBytes(body);
+    }
+}
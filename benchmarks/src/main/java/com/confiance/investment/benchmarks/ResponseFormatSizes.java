@@ -0,0 +1,38 @@
+package com.confiance.investment.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Prints raw and gzip payload sizes of the ResponseFormatBenchmark bodies. Not a JMH
+ * benchmark: run it with
+ * java -cp target/benchmarks.jar com.confiance.investment.benchmarks.ResponseFormatSizes
+ */
+public final class ResponseFormatSizes {
+
+    private ResponseFormatSizes() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("%-6s %-9s %10s %10s%n", "rows", "format", "bytes", "gzip");
+        for (int rows : new int[] {20, 100, 1000}) {
+            Object body = ResponseFormatBenchmark.body(rows);
+            for (ResponseFormatBenchmark.Format format : ResponseFormatBenchmark.Format.values()) {
+                ObjectMapper objectMapper = ResponseFormatBenchmark.mapper(format);
+                byte[] encoded = ResponseFormatBenchmark.encode(format, objectMapper, body);
+                System.out.printf("%-6d %-9s %10d %10d%n", rows, format, encoded.length, gzipSize(encoded));
+            }
+        }
+    }
+
+    private static int gzipSize(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,59 @@
+package com.confiance.investment.benchmarks;
+
+import com.confiance.common.dto.ApiResponse;
+import com.confiance.common.dto.PageResponse;
+import com.confiance.investment.dto.RecommendationResponse;
+import com.confiance.investment.service.RecommendationMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of a list-endpoint body, ApiResponse&lt;PageResponse&lt;RecommendationResponse&gt;&gt;,
+ * with an ObjectMapper configured the way Spring Boot and JacksonConfig build the
+ * application's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ResponseSerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<PageResponse<RecommendationResponse>> body;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .filters(new SimpleFilterProvider().setFailOnUnknownId(false))
+                .build();
+        PageResponse<RecommendationResponse> page = new RecommendationMapper().buildPageResponse(
+                new PageImpl<>(RecommendationFixtures.summaries(rows), PageRequest.of(0, rows), rows * 10L));
+        body = ApiResponse.success(page);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(body);
+    }
+}
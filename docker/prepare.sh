@@ -0,0 +1,56 @@
+#!/bin/sh
+# Unpacks the Boot jar into DIR and records a class-data-sharing (AppCDS) archive for it.
+#
+#   docker/prepare.sh target/investment-service-1.0.0-exec.jar /app
+#
+# CDS can only archive classes loaded from plain jars on the class path, not from jars
+# nested in the Boot jar, so the layout becomes DIR/app.jar (the application classes) plus
+# DIR/lib/*.jar, and DIR/app.args holds the matching -cp and main class. A training start
+# then refreshes the application context, exits before anything connects to MySQL, Redis or
+# Eureka, and dumps every class it loaded to DIR/app.jsa. docker/start.sh maps that archive
+# at each start. Run it with the JDK that will run the service: the archive is tied to it.
+set -eu
+
+JAR="$(realpath "$1")"
+DIR="$2"
+PROFILE="${SPRING_PROFILES_ACTIVE:-prod}"
+
+mkdir -p "$DIR"
+cd "$DIR"
+rm -rf unpacked lib app.jar app.args app.jsa aot.enabled
+unzip -q "$JAR" -d unpacked
+
+main_class="$(sed -n 's/^Start-Class: *//p' unpacked/META-INF/MANIFEST.MF | tr -d '\r')"
+jar --create --file app.jar -C unpacked/BOOT-INF/classes .
+
+# classpath.idx lists the dependencies in Maven's resolution order
+mkdir lib
+class_path="app.jar"
+for lib in $(sed -n 's/^- "BOOT-INF\/lib\/\(.*\)"$/\1/p' unpacked/BOOT-INF/classpath.idx); do
+  mv "unpacked/BOOT-INF/lib/$lib" lib/
+  class_path="$class_path:lib/$lib"
+done
+printf -- '-cp %s\n%s\n' "$class_path" "$main_class" > app.args
+
+# Built with -Paot: the generated context initializer sits next to the main class
+if [ -f "unpacked/BOOT-INF/classes/$(echo "$main_class" | tr . /)__ApplicationContextInitializer.class" ]; then
+  touch aot.enabled
+  aot=true
+else
+  aot=false
+fi
+rm -rf unpacked
+
+java -XX:ArchiveClassesAtExit=app.jsa \
+    -Dspring.context.exit=onRefresh \
+    -Dspring.aot.enabled="$aot" \
+    @app.args \
+    --spring.profiles.active="$PROFILE" \
+    --spring.flyway.enabled=false \
+    --spring.jpa.properties.hibernate.temp.use_jdbc_metadata_defaults=false \
+    --eureka.client.enabled=false \
+    || echo "CDS training run failed; the service will start without a shared archive" >&2
+
+if [ -f app.jsa ]; then
+  echo "Recorded CDS archive $(du -h app.jsa | cut -f1) (AOT: $aot)"
+fi
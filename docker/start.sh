@@ -0,0 +1,31 @@
+#!/bin/sh
+# Starts the layout written by docker/prepare.sh (the image's entrypoint).
+#
+# Uses the CDS archive when present. Uses the AOT-generated bean definitions when the jar
+# was built with -Paot, unless SPRING_AOT_ENABLED says otherwise. AOT fixes every
+# @ConditionalOnProperty/@ConditionalOnThreading decision at build time (for the prod
+# defaults), so switching one of those features on at run time falls back to a regular start.
+# Extra JVM flags go in JAVA_OPTS; arguments are passed to the application.
+set -eu
+
+cd "${APP_DIR:-/app}"
+
+aot="${SPRING_AOT_ENABLED:-}"
+if [ -z "$aot" ]; then
+  aot=false
+  [ -f aot.enabled ] && aot=true
+  for feature in READ_REPLICAS_ENABLED ARCHIVE_ENABLED PRICE_FEED_ENABLED VIRTUAL_THREADS_ENABLED; do
+    if [ "$(printenv "$feature" || true)" = "true" ] && [ "$aot" = "true" ]; then
+      echo "$feature=true differs from the AOT build; starting without AOT" >&2
+      aot=false
+    fi
+  done
+fi
+
+cds=""
+if [ -f app.jsa ]; then
+  cds="-XX:SharedArchiveFile=app.jsa -Xshare:auto"
+fi
+
+# shellcheck disable=SC2086
+exec java $cds -Dspring.aot.enabled="$aot" ${JAVA_OPTS:-} @app.args "$@"
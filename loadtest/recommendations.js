@@ -0,0 +1,53 @@
+// k6 load test for the recommendation read endpoints.
+//
+//   k6 run -e BASE_URL=http://localhost:8084 -e TOKEN=<jwt> loadtest/recommendations.js
+//
+// VUS / DURATION override the default 200 virtual users for 2 minutes. Query parameters
+// are randomised over markets and pages so most requests miss the response cache and
+// reach MySQL, which is where the threading mode matters.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8084';
+const MARKETS = (__ENV.MARKETS || 'NSE,BSE,NASDAQ,NYSE').split(',');
+const MAX_PAGE = parseInt(__ENV.MAX_PAGE || '50');
+
+export const options = {
+  scenarios: {
+    reads: {
+      executor: 'constant-vus',
+      vus: parseInt(__ENV.VUS || '200'),
+      duration: __ENV.DURATION || '2m',
+    },
+  },
+  summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+const params = {
+  headers: { Authorization: `Bearer ${__ENV.TOKEN}` },
+};
+
+function pick(values) {
+  return values[Math.floor(Math.random() * values.length)];
+}
+
+function page() {
+  return Math.floor(Math.random() * MAX_PAGE);
+}
+
+const requests = [
+  () => ['list', `/api/v1/recommendations?page=${page()}&size=20`],
+  () => ['open', `/api/v1/recommendations/open?page=${page()}&size=20`],
+  () => ['market', `/api/v1/recommendations/market/${pick(MARKETS)}?page=${page()}&size=20`],
+  () => ['filter', `/api/v1/recommendations/filter?market=${pick(MARKETS)}&status=OPEN&page=${page()}&size=20`],
+  () => ['scroll', `/api/v1/recommendations/open/scroll?size=20`],
+];
+
+export default function () {
+  const [name, path] = pick(requests)();
+  const res = http.get(`${BASE_URL}${path}`, Object.assign({ tags: { endpoint: name } }, params));
+  check(res, { 'status is 200': (r) => r.status === 200 });
+}
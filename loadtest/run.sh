@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Runs the k6 read scenario against the service twice, once on platform threads and
+# once on virtual threads, and keeps both summaries side by side.
+#
+#   TOKEN=<jwt> loadtest/run.sh
+#
+# Needs MySQL and Redis reachable with the usual SPRING_* / MYSQL_HOST settings, a built
+# jar in target/, and k6 on the PATH. Pass the same DB_POOL_SIZE to both runs so the
+# only difference is the threading mode.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+: "${TOKEN:?TOKEN must be a valid JWT for the service}"
+PORT="${PORT:-8084}"
+OUT="${OUT:-loadtest/results}"
+JAR="$(ls target/*-exec.jar | head -n 1)"
+mkdir -p "$OUT"
+
+run() {
+  local mode="$1" virtual="$2"
+  echo "== ${mode} threads"
+  VIRTUAL_THREADS_ENABLED="$virtual" java -jar "$JAR" \
+      --spring.profiles.active=loadtest --server.port="$PORT" > "$OUT/${mode}-app.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+
+  until curl -sf "http://localhost:${PORT}/actuator/health" > /dev/null; do
+    kill -0 "$pid" || { echo "service exited, see $OUT/${mode}-app.log"; exit 1; }
+    sleep 2
+  done
+
+  k6 run -e BASE_URL="http://localhost:${PORT}" -e TOKEN="$TOKEN" \
+      --summary-export "$OUT/${mode}-summary.json" loadtest/recommendations.js | tee "$OUT/${mode}-k6.txt"
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+run platform false
+run virtual true
+
+echo "Summaries written to $OUT/{platform,virtual}-summary.json"
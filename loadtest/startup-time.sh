@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Measures time to first request: from launching the JVM until /actuator/health first
+# answers 200. Compares the plain `java -jar` start on the default profile (Hibernate
+# ddl-auto, SQL logging) with the production start (prod profile, Flyway, CDS, and AOT when
+# the jar was built with -Paot), RUNS times each, and prints the median of each.
+#
+#   mvn clean package -DskipTests -Paot
+#   loadtest/startup-time.sh
+#
+# Needs MySQL and Redis reachable with the usual SPRING_* / MYSQL_HOST settings and the
+# JDK that will run the service (the CDS archive is tied to it). GNU date is required.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${RUNS:-5}"
+PORT="${PORT:-8084}"
+OUT="${OUT:-loadtest/results}"
+JAR="$(ls target/*-exec.jar | head -n 1)"
+WORK="$(mktemp -d)"
+trap 'rm -rf "$WORK"' EXIT
+mkdir -p "$OUT"
+
+echo "== preparing CDS layout in $WORK"
+SPRING_PROFILES_ACTIVE=prod docker/prepare.sh "$JAR" "$WORK/app" > "$OUT/startup-prepare.log" 2>&1
+
+# Prints the milliseconds until the first healthy response, then stops the service
+time_to_first_request() {
+  local log="$1"; shift
+  local start pid
+  start="$(date +%s%N)"
+  "$@" --server.port="$PORT" > "$log" 2>&1 &
+  pid=$!
+  until curl -sf "http://localhost:${PORT}/actuator/health" > /dev/null; do
+    kill -0 "$pid" 2> /dev/null || { echo "service exited, see $log" >&2; exit 1; }
+    sleep 0.05
+  done
+  echo $(( ($(date +%s%N) - start) / 1000000 ))
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+measure() {
+  local mode="$1"; shift
+  local times=()
+  for run in $(seq 1 "$RUNS"); do
+    times+=("$(time_to_first_request "$OUT/startup-${mode}-${run}.log" "$@")")
+    echo "   ${mode} run ${run}: ${times[-1]} ms" >&2
+  done
+  printf '%s\n' "${times[@]}" | median
+}
+
+echo "== default profile, java -jar"
+baseline="$(measure baseline java -jar "$JAR")"
+echo "== prod profile, CDS + AOT"
+fast="$(SPRING_PROFILES_ACTIVE=prod APP_DIR="$WORK/app" measure fast docker/start.sh)"
+
+{
+  echo "time to first request, median of ${RUNS} runs"
+  echo "baseline (java -jar, default profile): ${baseline} ms"
+  echo "fast (prod profile, CDS, $( [ -f "$WORK/app/aot.enabled" ] && echo AOT || echo no AOT )): ${fast} ms"
+} | tee "$OUT/startup.txt"
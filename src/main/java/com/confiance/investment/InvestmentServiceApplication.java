@@ -7,13 +7,21 @@ import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+// Scans only this service plus the common-lib packages that contribute beans (JwtUtil,
+// exception handling), instead of every class under com.confiance. Add a common-lib package
+// to investment.scan.common-packages if it ships a new bean; under AOT the list is fixed at build time.
 @SpringBootApplication
-@ComponentScan(basePackages = {"com.confiance"})
-@EntityScan(basePackages = {"com.confiance"})
-@EnableJpaRepositories(basePackages = {"com.confiance"})
+@ComponentScan(basePackages = {"com.confiance.investment",
+        "${investment.scan.common-packages:com.confiance.common.security,com.confiance.common.exception}"})
+@EntityScan(basePackages = {"com.confiance.investment.entity"})
+@EnableJpaRepositories(basePackages = {"com.confiance.investment.repository"})
 @EnableDiscoveryClient
 @EnableJpaAuditing
+@EnableAsync
+@EnableScheduling
 public class InvestmentServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(InvestmentServiceApplication.class, args);
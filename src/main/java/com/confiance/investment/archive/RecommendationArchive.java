@@ -0,0 +1,85 @@
+package com.confiance.investment.archive;
+
+import com.confiance.common.enums.RecommendationStatus;
+import com.confiance.investment.repository.ArchivedRecommendationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Tells readers whether a query can match archived rows at all, so most reads never touch
+ * recommendations_archive. Archived rows are never OPEN and are older than the horizon:
+ * the newest archived recommendation date, widened to today minus the minimum age while
+ * the archiver is enabled (another instance may have moved rows since the last refresh).
+ */
+@Component
+@Slf4j
+public class RecommendationArchive {
+
+    private final ArchivedRecommendationRepository archivedRepository;
+    private final boolean archiverEnabled;
+    private final Duration minAge;
+
+    // Null until the first refresh; until then every query is assumed to reach the archive
+    private volatile Snapshot snapshot;
+
+    public RecommendationArchive(ArchivedRecommendationRepository archivedRepository,
+                                 @Value("${investment.archive.enabled:false}") boolean archiverEnabled,
+                                 @Value("${investment.archive.min-age:180d}") Duration minAge) {
+        this.archivedRepository = archivedRepository;
+        this.archiverEnabled = archiverEnabled;
+        this.minAge = minAge;
+    }
+
+    /**
+     * False only when no row with this status, recommended on or after fromDate, can be
+     * in the archive. Null arguments mean "any".
+     */
+    public boolean mayContain(RecommendationStatus status, LocalDate fromDate) {
+        if (status == RecommendationStatus.OPEN) {
+            return false;
+        }
+        LocalDate horizon = horizon();
+        return horizon != null && (fromDate == null || !fromDate.isAfter(horizon));
+    }
+
+    /**
+     * Last time the archiver moved rows, or null if the archive is empty. Readers that
+     * cache archive-derived data compare it to decide when to reload.
+     */
+    public LocalDateTime getLastArchivedAt() {
+        Snapshot current = snapshot;
+        return current != null ? current.lastArchivedAt : null;
+    }
+
+    @Scheduled(fixedDelayString = "${investment.archive.horizon-refresh-interval-ms:60000}", initialDelay = 0)
+    public void refresh() {
+        try {
+            snapshot = new Snapshot(archivedRepository.findNewestRecommendationDate(), archivedRepository.findLatestArchivedAt());
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh the recommendation archive horizon; keeping the previous one", e);
+        }
+    }
+
+    private LocalDate horizon() {
+        LocalDate cutoff = LocalDate.now().minusDays(minAge.toDays());
+        Snapshot current = snapshot;
+        if (current == null) {
+            return LocalDate.MAX;
+        }
+        LocalDate newest = current.newestRecommendationDate;
+        if (archiverEnabled && (newest == null || newest.isBefore(cutoff))) {
+            return cutoff;
+        }
+        return newest;
+    }
+
+    private record Snapshot(LocalDate newestRecommendationDate, LocalDateTime lastArchivedAt) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.confiance.investment.archive;
+
+import com.confiance.common.enums.RecommendationStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves closed recommendations older than the minimum age from recommendations into
+ * recommendations_archive, keeping the live table (and its indexes and buffer pool
+ * footprint) proportional to recent activity. Each chunk is copied and deleted in one
+ * transaction, so a row is always in exactly one table. SKIP LOCKED lets several
+ * instances run the job without waiting on each other. No change events are published:
+ * the rows' content is unchanged, only where they live.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "investment.archive.enabled", havingValue = "true")
+public class RecommendationArchiver {
+
+    private static final String COLUMNS =
+            "id, market, currency, ticker_symbol, company_name, trade_type, recommendation_date, entry_price, " +
+            "target_price, stop_loss, risk_reward_ratio, potential_return, potential_return_percentage, " +
+            "potential_risk, sell_price, exit_date, holding_period_days, status, remarks, created_by_user_id, " +
+            "created_at, updated_at";
+
+    private static final String LOCK_CHUNK =
+            "SELECT id FROM recommendations WHERE status <> ? AND recommendation_date < ? " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String COPY_CHUNK =
+            "INSERT INTO recommendations_archive (" + COLUMNS + ", archived_at) " +
+            "SELECT " + COLUMNS + ", ? FROM recommendations WHERE id IN (%s)";
+
+    private static final String DELETE_CHUNK = "DELETE FROM recommendations WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RecommendationArchive archive;
+
+    @Value("${investment.archive.min-age:180d}")
+    private Duration minAge;
+
+    @Value("${investment.archive.batch-size:1000}")
+    private int batchSize;
+
+    public RecommendationArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  RecommendationArchive archive) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archive = archive;
+    }
+
+    @Scheduled(cron = "${investment.archive.cron:0 30 2 * * *}")
+    public void archive() {
+        LocalDate cutoff = LocalDate.now().minusDays(minAge.toDays());
+        long start = System.currentTimeMillis();
+        int total = 0;
+        int moved;
+        try {
+            do {
+                moved = transactionTemplate.execute(status -> moveChunk(cutoff));
+                total += moved;
+            } while (moved == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Archiving stopped after {} recommendations", total, e);
+        }
+        if (total > 0) {
+            archive.refresh();
+            log.info("Archived {} closed recommendations recommended before {} in {} ms",
+                    total, cutoff, System.currentTimeMillis() - start);
+        }
+    }
+
+    private int moveChunk(LocalDate cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(LOCK_CHUNK, Long.class,
+                RecommendationStatus.OPEN.name(), Date.valueOf(cutoff), batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        List<Object> copyArgs = new ArrayList<>(ids.size() + 1);
+        copyArgs.add(Timestamp.valueOf(LocalDateTime.now()));
+        copyArgs.addAll(ids);
+        int copied = jdbcTemplate.update(COPY_CHUNK.formatted(placeholders), copyArgs.toArray());
+        int deleted = jdbcTemplate.update(DELETE_CHUNK.formatted(placeholders), ids.toArray());
+        if (copied != ids.size() || deleted != ids.size()) {
+            // Rolls the chunk back rather than leaving a row in both tables or in neither
+            throw new IllegalStateException("Archive chunk mismatch: locked " + ids.size()
+                    + ", copied " + copied + ", deleted " + deleted);
+        }
+        return ids.size();
+    }
+}
@@ -0,0 +1,276 @@
+package com.confiance.investment.audit;
+
+import com.confiance.investment.dto.RecommendationResponse;
+import com.confiance.investment.entity.RecommendationHistory;
+import com.confiance.investment.event.RecommendationChangedEvent;
+import com.confiance.investment.repository.RecommendationHistoryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Write-behind recorder for recommendation history. Committed changes go into a bounded
+ * in-memory buffer and are inserted in JDBC batches on a schedule, so writers never wait
+ * on the history table.
+ * When the buffer passes its high-water mark (the DB is not keeping up), or a batch
+ * insert fails, entries are appended to a local NDJSON spill file instead and fsynced.
+ * The spill file is replayed once the buffer has drained.
+ * A crash during replay can insert a replayed batch twice. Nothing is lost.
+ */
+@Component
+@Slf4j
+public class RecommendationHistoryRecorder {
+
+    private static final String IGNORED_FIELD = "updatedAt";
+
+    private final RecommendationHistoryRepository historyRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<RecommendationHistory> buffer;
+    private final int batchSize;
+    private final int highWaterMark;
+    private final Path spillFile;
+    private final Path replayFile;
+    private final Object spillLock = new Object();
+
+    private final Counter written;
+    private final Counter spilled;
+    private final Counter lost;
+
+    public RecommendationHistoryRecorder(RecommendationHistoryRepository historyRepository,
+                                         ObjectMapper objectMapper,
+                                         PlatformTransactionManager transactionManager,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${investment.audit.buffer-capacity:10000}") int bufferCapacity,
+                                         @Value("${investment.audit.batch-size:500}") int batchSize,
+                                         @Value("${investment.audit.spill-high-water-mark:0.8}") double highWaterMark,
+                                         @Value("${investment.audit.spill-file:data/audit-spill.ndjson}") Path spillFile) {
+        this.historyRepository = historyRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.highWaterMark = (int) (bufferCapacity * highWaterMark);
+        this.spillFile = spillFile;
+        this.replayFile = spillFile.resolveSibling(spillFile.getFileName() + ".replaying");
+
+        Gauge.builder("investment.audit.buffer.size", buffer, BlockingQueue::size)
+                .description("History entries waiting to be written")
+                .register(meterRegistry);
+        this.written = entriesCounter(meterRegistry, "written");
+        this.spilled = entriesCounter(meterRegistry, "spilled");
+        this.lost = entriesCounter(meterRegistry, "lost");
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecommendationChanged(RecommendationChangedEvent event) {
+        RecommendationHistory entry = toHistory(event);
+        if (buffer.size() >= highWaterMark || !buffer.offer(entry)) {
+            spill(List.of(entry));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${investment.audit.flush-interval-ms:500}")
+    public void flush() {
+        List<RecommendationHistory> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            if (!write(batch)) {
+                // Leave the rest buffered; the next run retries against the DB first
+                spill(batch);
+                return;
+            }
+            batch.clear();
+        }
+        replaySpill();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<RecommendationHistory> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            List<RecommendationHistory> batch = remaining.subList(from, Math.min(from + batchSize, remaining.size()));
+            if (!write(batch)) {
+                spill(remaining.subList(from, remaining.size()));
+                return;
+            }
+        }
+    }
+
+    private boolean write(List<RecommendationHistory> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> historyRepository.saveAll(batch));
+            written.increment(batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} history entries, spilling to {}", batch.size(), spillFile, e);
+            // Ids taken from the sequence belong to the rolled-back insert
+            batch.forEach(entry -> entry.setId(null));
+            return false;
+        }
+    }
+
+    private void spill(List<RecommendationHistory> entries) {
+        List<String> lines = new ArrayList<>(entries.size());
+        for (RecommendationHistory entry : entries) {
+            try {
+                lines.add(objectMapper.writeValueAsString(entry));
+            } catch (JsonProcessingException e) {
+                lost.increment();
+                log.error("Dropping unserializable history entry for recommendation {}", entry.getRecommendationId(), e);
+            }
+        }
+        appendToSpill(lines);
+    }
+
+    private void appendToSpill(List<String> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        StringBuilder content = new StringBuilder();
+        lines.forEach(line -> content.append(line).append('\n'));
+        synchronized (spillLock) {
+            try {
+                Path parent = spillFile.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                try (FileChannel channel = FileChannel.open(spillFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    channel.write(ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8)));
+                    channel.force(true);
+                }
+                spilled.increment(lines.size());
+            } catch (IOException e) {
+                lost.increment(lines.size());
+                log.error("Could not spill {} history entries to {}; they are lost", lines.size(), spillFile, e);
+            }
+        }
+    }
+
+    /**
+     * Moves the spill file aside and inserts it in batches; whatever cannot be written
+     * goes back to the spill file for the next run.
+     */
+    private void replaySpill() {
+        try {
+            synchronized (spillLock) {
+                if (!Files.exists(replayFile)) {
+                    if (!Files.exists(spillFile) || Files.size(spillFile) == 0) {
+                        return;
+                    }
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+
+            int replayed = 0;
+            try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+                Iterator<String> lines = reader.lines().filter(line -> !line.isBlank()).iterator();
+                while (lines.hasNext()) {
+                    List<String> chunk = new ArrayList<>(batchSize);
+                    while (lines.hasNext() && chunk.size() < batchSize) {
+                        chunk.add(lines.next());
+                    }
+                    if (!write(parse(chunk))) {
+                        lines.forEachRemaining(chunk::add);
+                        // Counted as spilled again; the spill counter tracks appends, not unique entries
+                        appendToSpill(chunk);
+                        break;
+                    }
+                    replayed += chunk.size();
+                }
+            }
+            Files.delete(replayFile);
+            if (replayed > 0) {
+                log.info("Replayed {} spilled history entries", replayed);
+            }
+        } catch (IOException e) {
+            log.error("Failed to replay history spill file {}", replayFile, e);
+        }
+    }
+
+    private List<RecommendationHistory> parse(List<String> lines) throws IOException {
+        List<RecommendationHistory> entries = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            entries.add(objectMapper.readValue(line, RecommendationHistory.class));
+        }
+        return entries;
+    }
+
+    private RecommendationHistory toHistory(RecommendationChangedEvent event) {
+        return RecommendationHistory.builder()
+                .recommendationId(event.getRecommendationId())
+                .changeType(event.getType())
+                .changedFields(changedFields(event.getBefore(), event.getAfter()))
+                .beforeSnapshot(toJson(event.getBefore()))
+                .afterSnapshot(toJson(event.getAfter()))
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+
+    private String changedFields(RecommendationResponse before, RecommendationResponse after) {
+        if (before == null || after == null) {
+            return null;
+        }
+        JsonNode beforeTree = objectMapper.valueToTree(before);
+        JsonNode afterTree = objectMapper.valueToTree(after);
+        Set<String> fields = new LinkedHashSet<>();
+        beforeTree.fieldNames().forEachRemaining(fields::add);
+        afterTree.fieldNames().forEachRemaining(fields::add);
+
+        List<String> changed = new ArrayList<>();
+        for (String field : fields) {
+            if (!IGNORED_FIELD.equals(field) && !beforeTree.path(field).equals(afterTree.path(field))) {
+                changed.add(field);
+            }
+        }
+        return changed.isEmpty() ? null : String.join(",", changed);
+    }
+
+    private String toJson(RecommendationResponse snapshot) {
+        if (snapshot == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize recommendation " + snapshot.getId(), e);
+        }
+    }
+
+    private static Counter entriesCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("investment.audit.entries")
+                .description("History entries by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,159 @@
+package com.confiance.investment.backtest;
+
+import com.confiance.common.enums.Market;
+import com.confiance.investment.dto.BacktestResponse;
+import com.confiance.investment.dto.BacktestScenarioResult;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Backtests "follow every call with equal-weight sizing" over stored recommendations.
+ * The rows are read once, straight into RecommendationColumns (no entities, no
+ * per-row BigDecimal). Then one PortfolioSimulator run per (market, strategy) is forked
+ * onto a dedicated ForkJoinPool.
+ */
+@Service
+@Timed("investment.service")
+@Slf4j
+public class BacktestService {
+
+    private static final String SELECT_COLUMNS =
+            "SELECT market, recommendation_date, exit_date, entry_price, target_price, stop_loss, sell_price, id ";
+
+    private static final String WHERE_RANGE = "WHERE recommendation_date BETWEEN ? AND ? AND market IN (%1$s) ";
+
+    // Closed history lives mostly in the archive, so both tables are always read
+    private static final String SELECT_ROWS =
+            SELECT_COLUMNS + "FROM recommendations " + WHERE_RANGE +
+            "UNION ALL " +
+            SELECT_COLUMNS + "FROM recommendations_archive " + WHERE_RANGE +
+            "ORDER BY recommendation_date, id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ForkJoinPool pool;
+
+    @Value("${investment.backtest.max-recommendations:200000}")
+    private int maxRecommendations;
+
+    public BacktestService(JdbcTemplate jdbcTemplate,
+                           @Value("${investment.backtest.parallelism:0}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Transactional(readOnly = true)
+    public BacktestResponse runBacktest(Set<Market> markets, Set<BacktestStrategy> strategies,
+                                        LocalDate fromDate, LocalDate toDate, BigDecimal initialCapital) {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fromDate must not be after toDate");
+        }
+        if (initialCapital.signum() <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "initialCapital must be positive");
+        }
+        long start = System.currentTimeMillis();
+        Set<Market> selected = markets == null || markets.isEmpty() ? EnumSet.allOf(Market.class) : EnumSet.copyOf(markets);
+        Set<BacktestStrategy> selectedStrategies = strategies == null || strategies.isEmpty()
+                ? EnumSet.allOf(BacktestStrategy.class) : EnumSet.copyOf(strategies);
+
+        RecommendationColumns columns = load(selected,
+                fromDate != null ? fromDate : LocalDate.of(1970, 1, 1),
+                toDate != null ? toDate : LocalDate.now());
+
+        // Per-market portfolios, plus the combined one when more than one market is requested
+        List<Market> scenarioMarkets = new ArrayList<>(selected);
+        if (selected.size() > 1) {
+            scenarioMarkets.add(null);
+        }
+        double capital = initialCapital.doubleValue();
+        List<Callable<BacktestScenarioResult>> scenarios = new ArrayList<>();
+        for (Market market : scenarioMarkets) {
+            for (BacktestStrategy strategy : selectedStrategies) {
+                scenarios.add(() -> PortfolioSimulator.simulate(columns, market, strategy, capital));
+            }
+        }
+
+        List<BacktestScenarioResult> results = new ArrayList<>(scenarios.size());
+        for (Future<BacktestScenarioResult> future : pool.invokeAll(scenarios)) {
+            results.add(join(future));
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.debug("Backtested {} recommendations across {} scenarios in {} ms", columns.size, results.size(), elapsed);
+        return BacktestResponse.builder()
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .initialCapital(initialCapital)
+                .recommendationsLoaded(columns.size)
+                .scenarios(results)
+                .elapsedMs(elapsed)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private RecommendationColumns load(Set<Market> markets, LocalDate fromDate, LocalDate toDate) {
+        RecommendationColumns.Builder builder = new RecommendationColumns.Builder(1024);
+        RowCallbackHandler handler = rs -> {
+            if (builder.size() >= maxRecommendations) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "More than " + maxRecommendations + " recommendations match; narrow the date range or markets");
+            }
+            Date exitDate = rs.getDate(3);
+            builder.add(Market.valueOf(rs.getString(1)),
+                    (int) rs.getDate(2).toLocalDate().toEpochDay(),
+                    exitDate != null ? (int) exitDate.toLocalDate().toEpochDay() : RecommendationColumns.NO_EXIT,
+                    price(rs, 4), price(rs, 5), price(rs, 6), price(rs, 7));
+        };
+        List<Object> args = new ArrayList<>();
+        for (int table = 0; table < 2; table++) {
+            args.add(Date.valueOf(fromDate));
+            args.add(Date.valueOf(toDate));
+            markets.forEach(market -> args.add(market.name()));
+        }
+        String sql = SELECT_ROWS.formatted(String.join(", ", Collections.nCopies(markets.size(), "?")));
+        jdbcTemplate.query(sql, handler, args.toArray());
+        return builder.build();
+    }
+
+    private static double price(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? Double.NaN : value;
+    }
+
+    private static BacktestScenarioResult join(Future<BacktestScenarioResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Backtest interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Backtest scenario failed", e.getCause());
+        }
+    }
+}
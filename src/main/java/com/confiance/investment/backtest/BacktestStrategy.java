@@ -0,0 +1,12 @@
+package com.confiance.investment.backtest;
+
+/**
+ * How a simulated position is closed. Both use the recorded exit date, since no intraday
+ * price history is stored.
+ */
+public enum BacktestStrategy {
+    // Exit at the recorded sellPrice
+    RECORDED_EXITS,
+    // Exit exactly at target or stop-loss when the recorded exit reached it, otherwise at sellPrice
+    TARGET_OR_STOP
+}
@@ -0,0 +1,258 @@
+package com.confiance.investment.backtest;
+
+import com.confiance.common.enums.Market;
+import com.confiance.investment.dto.BacktestScenarioResult;
+import com.confiance.investment.dto.EquityPoint;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Equal-weight portfolio simulation over RecommendationColumns. Every call is followed.
+ * Each one is sized at equity / maxConcurrentPositions at entry, so the book is never
+ * levered, and its P&L is realized on the exit date. Without daily prices, open positions
+ * are carried at cost, so the equity curve only moves on exit days. Scenarios share the
+ * read-only columns and nothing else, so they can run in parallel.
+ */
+final class PortfolioSimulator {
+
+    private static final double DAYS_PER_YEAR = 365.25;
+
+    private PortfolioSimulator() {
+    }
+
+    static BacktestScenarioResult simulate(RecommendationColumns columns, Market market,
+                                           BacktestStrategy strategy, double initialCapital) {
+        int[] rows = columns.rowsFor(market);
+        int n = rows.length;
+
+        // Resolve each trade to (entryDay, exitDay, value multiple at exit) once
+        int[] entryDay = new int[n];
+        int[] exitDay = new int[n];
+        double[] multiple = new double[n];
+        boolean[] skipped = new boolean[n];
+        int closed = 0;
+        int invalid = 0;
+        for (int t = 0; t < n; t++) {
+            int row = rows[t];
+            entryDay[t] = columns.entryDay[row];
+            double sell = columns.sellPrice[row];
+            if (Double.isNaN(sell)) {
+                exitDay[t] = RecommendationColumns.NO_EXIT;
+                multiple[t] = 1.0;
+            } else if (columns.exitDay[row] == RecommendationColumns.NO_EXIT
+                    || columns.exitDay[row] < entryDay[t] || !(columns.entryPrice[row] > 0)) {
+                skipped[t] = true;
+                exitDay[t] = RecommendationColumns.NO_EXIT;
+                invalid++;
+            } else {
+                exitDay[t] = columns.exitDay[row];
+                multiple[t] = valueMultiple(columns, row, exitPrice(columns, row, strategy));
+                closed++;
+            }
+        }
+
+        // Closed trades in exit order; day in the high bits, trade index in the low bits
+        long[] exitOrder = new long[closed];
+        int k = 0;
+        for (int t = 0; t < n; t++) {
+            if (!skipped[t] && exitDay[t] != RecommendationColumns.NO_EXIT) {
+                exitOrder[k++] = ((long) exitDay[t] << 32) | t;
+            }
+        }
+        Arrays.sort(exitOrder);
+
+        int maxConcurrent = Math.max(1, maxConcurrentPositions(entryDay, exitDay, skipped, exitOrder));
+
+        double cash = initialCapital;
+        double openCost = 0;
+        double[] cost = new double[n];
+        int wins = 0;
+        int noCash = 0;
+
+        List<EquityPoint> curve = new ArrayList<>();
+        double peak = initialCapital;
+        int peakDay = n > 0 ? entryDay[0] : 0;
+        double maxDrawdown = 0;
+        int ddPeakDay = peakDay;
+        int ddTroughDay = peakDay;
+        int firstDay = peakDay;
+        int lastDay = peakDay;
+
+        int e = 0;
+        int x = 0;
+        while (e < n || x < closed) {
+            int day = Integer.MAX_VALUE;
+            if (e < n) {
+                day = entryDay[e];
+            }
+            if (x < closed) {
+                day = Math.min(day, (int) (exitOrder[x] >> 32));
+            }
+
+            // Exits first, so capital freed today can fund today's entries
+            for (; x < closed && (int) (exitOrder[x] >> 32) == day; x++) {
+                int t = (int) exitOrder[x];
+                if (entryDay[t] == day) {
+                    continue; // same-day round trip, closed right after it is opened below
+                }
+                if (!skipped[t]) {
+                    cash += cost[t] * multiple[t];
+                    openCost -= cost[t];
+                    if (multiple[t] > 1.0) {
+                        wins++;
+                    }
+                }
+            }
+            for (; e < n && entryDay[e] == day; e++) {
+                if (skipped[e]) {
+                    continue;
+                }
+                double size = Math.min((cash + openCost) / maxConcurrent, cash);
+                if (size <= 0) {
+                    skipped[e] = true;
+                    noCash++;
+                    continue;
+                }
+                cost[e] = size;
+                cash -= size;
+                openCost += size;
+                if (exitDay[e] == day) {
+                    cash += size * multiple[e];
+                    openCost -= size;
+                    if (multiple[e] > 1.0) {
+                        wins++;
+                    }
+                }
+            }
+
+            double equity = cash + openCost;
+            if (equity > peak) {
+                peak = equity;
+                peakDay = day;
+            }
+            double drawdown = peak > 0 ? (peak - equity) / peak : 0;
+            if (drawdown > maxDrawdown) {
+                maxDrawdown = drawdown;
+                ddPeakDay = peakDay;
+                ddTroughDay = day;
+            }
+            curve.add(EquityPoint.builder()
+                    .date(LocalDate.ofEpochDay(day))
+                    .equity(money(equity))
+                    .drawdownPercentage(percent(drawdown))
+                    .build());
+            lastDay = day;
+        }
+
+        double endEquity = cash + openCost;
+        int closedTraded = 0;
+        int openTraded = 0;
+        for (int t = 0; t < n; t++) {
+            if (!skipped[t]) {
+                if (exitDay[t] == RecommendationColumns.NO_EXIT) {
+                    openTraded++;
+                } else {
+                    closedTraded++;
+                }
+            }
+        }
+        return BacktestScenarioResult.builder()
+                .market(market)
+                .strategy(strategy)
+                .trades(n)
+                .closedTrades(closedTraded)
+                .openTrades(openTraded)
+                .skippedTrades(invalid + noCash)
+                .winningTrades(wins)
+                .winRate(closedTraded > 0 ? percent((double) wins / closedTraded) : null)
+                .maxConcurrentPositions(maxConcurrent)
+                .startEquity(money(initialCapital))
+                .endEquity(money(endEquity))
+                .totalReturnPercentage(percent(endEquity / initialCapital - 1))
+                .cagrPercentage(cagr(initialCapital, endEquity, lastDay - firstDay))
+                .maxDrawdownPercentage(percent(maxDrawdown))
+                .maxDrawdownPeakDate(maxDrawdown > 0 ? LocalDate.ofEpochDay(ddPeakDay) : null)
+                .maxDrawdownTroughDate(maxDrawdown > 0 ? LocalDate.ofEpochDay(ddTroughDay) : null)
+                .equityCurve(curve)
+                .build();
+    }
+
+    private static double exitPrice(RecommendationColumns columns, int row, BacktestStrategy strategy) {
+        double sell = columns.sellPrice[row];
+        if (strategy == BacktestStrategy.RECORDED_EXITS) {
+            return sell;
+        }
+        double target = columns.targetPrice[row];
+        double stop = columns.stopLoss[row];
+        // Comparisons against NaN (no target / no stop) are always false
+        if (columns.isShort[row]) {
+            return sell <= target ? target : sell >= stop ? stop : sell;
+        }
+        return sell >= target ? target : sell <= stop ? stop : sell;
+    }
+
+    private static double valueMultiple(RecommendationColumns columns, int row, double exit) {
+        double move = exit / columns.entryPrice[row] - 1;
+        // A short can lose at most what was put into it
+        return Math.max(0, columns.isShort[row] ? 1 - move : 1 + move);
+    }
+
+    private static int maxConcurrentPositions(int[] entryDay, int[] exitDay, boolean[] skipped, long[] exitOrder) {
+        int n = entryDay.length;
+        int e = 0;
+        int x = 0;
+        int openPositions = 0;
+        int max = 0;
+        while (e < n) {
+            int day = entryDay[e];
+            for (; x < exitOrder.length && (int) (exitOrder[x] >> 32) < day; x++) {
+                openPositions--;
+            }
+            // Exits today free their slot before today's entries, except same-day round trips
+            for (; x < exitOrder.length && (int) (exitOrder[x] >> 32) == day
+                    && entryDay[(int) exitOrder[x]] < day; x++) {
+                openPositions--;
+            }
+            int sameDayRoundTrips = 0;
+            for (; e < n && entryDay[e] == day; e++) {
+                if (!skipped[e]) {
+                    openPositions++;
+                    if (exitDay[e] == day) {
+                        sameDayRoundTrips++;
+                    }
+                }
+            }
+            max = Math.max(max, openPositions);
+            openPositions -= sameDayRoundTrips;
+            for (; x < exitOrder.length && (int) (exitOrder[x] >> 32) == day; x++) {
+                if (entryDay[(int) exitOrder[x]] < day) {
+                    openPositions--;
+                }
+            }
+        }
+        return max;
+    }
+
+    private static BigDecimal cagr(double start, double end, int days) {
+        if (days <= 0 || start <= 0) {
+            return null;
+        }
+        if (end <= 0) {
+            return percent(-1);
+        }
+        return percent(Math.pow(end / start, DAYS_PER_YEAR / days) - 1);
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal percent(double ratio) {
+        return BigDecimal.valueOf(ratio * 100).setScale(2, RoundingMode.HALF_UP);
+    }
+}
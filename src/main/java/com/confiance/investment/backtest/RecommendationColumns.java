@@ -0,0 +1,119 @@
+package com.confiance.investment.backtest;
+
+import com.confiance.common.enums.Market;
+
+import java.util.Arrays;
+
+/**
+ * Column-oriented, primitive copy of the recommendation fields a backtest needs, in
+ * recommendationDate order. Dates are epoch days and missing prices are NaN, so the
+ * simulation loop never touches BigDecimal or LocalDate.
+ */
+final class RecommendationColumns {
+
+    static final int NO_EXIT = Integer.MIN_VALUE;
+
+    final int size;
+    final byte[] market;
+    final boolean[] isShort;
+    final int[] entryDay;
+    final int[] exitDay;
+    final double[] entryPrice;
+    final double[] targetPrice;
+    final double[] stopLoss;
+    final double[] sellPrice;
+
+    private RecommendationColumns(Builder builder) {
+        this.size = builder.size;
+        this.market = Arrays.copyOf(builder.market, size);
+        this.isShort = Arrays.copyOf(builder.isShort, size);
+        this.entryDay = Arrays.copyOf(builder.entryDay, size);
+        this.exitDay = Arrays.copyOf(builder.exitDay, size);
+        this.entryPrice = Arrays.copyOf(builder.entryPrice, size);
+        this.targetPrice = Arrays.copyOf(builder.targetPrice, size);
+        this.stopLoss = Arrays.copyOf(builder.stopLoss, size);
+        this.sellPrice = Arrays.copyOf(builder.sellPrice, size);
+    }
+
+    /**
+     * Row indices for one market (or every row when market is null), still in date order.
+     */
+    int[] rowsFor(Market market) {
+        if (market == null) {
+            int[] all = new int[size];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+        byte ordinal = (byte) market.ordinal();
+        int[] rows = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (this.market[i] == ordinal) {
+                rows[count++] = i;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    static final class Builder {
+
+        private int size;
+        private byte[] market;
+        private boolean[] isShort;
+        private int[] entryDay;
+        private int[] exitDay;
+        private double[] entryPrice;
+        private double[] targetPrice;
+        private double[] stopLoss;
+        private double[] sellPrice;
+
+        Builder(int initialCapacity) {
+            int capacity = Math.max(initialCapacity, 16);
+            market = new byte[capacity];
+            isShort = new boolean[capacity];
+            entryDay = new int[capacity];
+            exitDay = new int[capacity];
+            entryPrice = new double[capacity];
+            targetPrice = new double[capacity];
+            stopLoss = new double[capacity];
+            sellPrice = new double[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void add(Market market, int entryDay, int exitDay, double entryPrice, double targetPrice,
+                 double stopLoss, double sellPrice) {
+            if (size == this.market.length) {
+                grow();
+            }
+            this.market[size] = (byte) market.ordinal();
+            // Same rule as OpenRecommendationIndex: short calls have the target below entry (or the stop above it)
+            this.isShort[size] = !Double.isNaN(targetPrice) ? targetPrice < entryPrice : stopLoss > entryPrice;
+            this.entryDay[size] = entryDay;
+            this.exitDay[size] = exitDay;
+            this.entryPrice[size] = entryPrice;
+            this.targetPrice[size] = targetPrice;
+            this.stopLoss[size] = stopLoss;
+            this.sellPrice[size] = sellPrice;
+            size++;
+        }
+
+        RecommendationColumns build() {
+            return new RecommendationColumns(this);
+        }
+
+        private void grow() {
+            int capacity = market.length * 2;
+            market = Arrays.copyOf(market, capacity);
+            isShort = Arrays.copyOf(isShort, capacity);
+            entryDay = Arrays.copyOf(entryDay, capacity);
+            exitDay = Arrays.copyOf(exitDay, capacity);
+            entryPrice = Arrays.copyOf(entryPrice, capacity);
+            targetPrice = Arrays.copyOf(targetPrice, capacity);
+            stopLoss = Arrays.copyOf(stopLoss, capacity);
+            sellPrice = Arrays.copyOf(sellPrice, capacity);
+        }
+    }
+}
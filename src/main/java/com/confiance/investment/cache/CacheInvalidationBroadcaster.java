@@ -0,0 +1,64 @@
+package com.confiance.investment.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * Tells the other instances to drop their L1 copies after a local eviction.
+ * The L2 (Redis) entries are shared, so only the in-process layer needs this.
+ */
+@Slf4j
+public class CacheInvalidationBroadcaster {
+
+    private static final String SEPARATOR = "\n";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public CacheInvalidationBroadcaster(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void publish(String cacheName, Operation operation, String key) {
+        String message = String.join(SEPARATOR, instanceId, cacheName, operation.name(), key == null ? "" : key);
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (RuntimeException e) {
+            log.warn("Could not broadcast {} of {}::{} - other instances keep their L1 entry until it expires",
+                    operation, cacheName, key, e);
+        }
+    }
+
+    /**
+     * Parses a message produced by {@link #publish}; returns null for our own messages.
+     */
+    Invalidation parse(String message) {
+        String[] parts = message.split(SEPARATOR, 4);
+        if (parts.length != 4 || instanceId.equals(parts[0])) {
+            return null;
+        }
+        try {
+            return new Invalidation(parts[1], Operation.valueOf(parts[2]), parts[3]);
+        } catch (IllegalArgumentException e) {
+            // e.g. EVICT_PREFIX from an instance still running an older build during a rollout
+            log.debug("Ignoring unknown cache invalidation {}", parts[2]);
+            return null;
+        }
+    }
+
+    public enum Operation {
+        EVICT,
+        CLEAR
+    }
+
+    record Invalidation(String cacheName, Operation operation, String key) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.confiance.investment.cache;
+
+import com.confiance.investment.cache.CacheInvalidationBroadcaster.Invalidation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Applies invalidations broadcast by other instances to the local L1 layer only.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationListener implements MessageListener {
+
+    private final TwoLevelCacheManager cacheManager;
+    private final CacheInvalidationBroadcaster broadcaster;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Invalidation invalidation = broadcaster.parse(new String(message.getBody(), StandardCharsets.UTF_8));
+        if (invalidation == null) {
+            return;
+        }
+
+        TwoLevelCache cache = cacheManager.getCache(invalidation.cacheName());
+        switch (invalidation.operation()) {
+            case EVICT -> cache.evictLocal(invalidation.key());
+            case CLEAR -> cache.clearLocal();
+        }
+        log.debug("Applied remote {} on {}::{}", invalidation.operation(), invalidation.cacheName(), invalidation.key());
+    }
+}
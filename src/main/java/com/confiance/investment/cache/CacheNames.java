@@ -0,0 +1,22 @@
+package com.confiance.investment.cache;
+
+public final class CacheNames {
+
+    // List caches end their keys with the collection version (RecommendationVersionTracker),
+    // so a list ETag is never newer than the cached page served with it
+
+    // RecommendationResponse keyed by id
+    public static final String RECOMMENDATION = "recommendation";
+
+    // PageResponse<RecommendationResponse> keyed by "page:size:version"
+    public static final String OPEN_RECOMMENDATIONS = "open-recommendations";
+
+    // PageResponse<RecommendationResponse> keyed by "market:page:size:version"
+    public static final String MARKET_RECOMMENDATIONS = "market-recommendations";
+
+    // PageResponse<RecommendationResponse> keyed by "market:status:minReturn%:minRiskReward:page:size:version"
+    public static final String FILTERED_RECOMMENDATIONS = "filtered-recommendations";
+
+    private CacheNames() {
+    }
+}
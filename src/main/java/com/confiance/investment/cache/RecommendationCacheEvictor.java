@@ -0,0 +1,43 @@
+package com.confiance.investment.cache;
+
+import com.confiance.investment.event.RecommendationChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+
+/**
+ * Evicts the cached recommendation a write changed. Runs after commit so a concurrent read
+ * cannot repopulate the cache with pre-commit data.
+ * <p>
+ * List pages are not evicted: their keys end with the collection version, which every
+ * write advances, so superseded pages can no longer be hit and simply expire with their
+ * TTL. That keeps a write to a single Redis DEL instead of a keyspace SCAN per list cache.
+ * <p>
+ * With read replicas, a read served by a lagging replica right after the commit can still
+ * cache the old value. The eviction therefore runs again after delayed-eviction (set it to
+ * the replica max-lag; 0 disables it).
+ */
+@Component
+@RequiredArgsConstructor
+public class RecommendationCacheEvictor {
+
+    private final TwoLevelCacheManager cacheManager;
+    private final TwoLevelCacheProperties properties;
+    private final TaskScheduler taskScheduler;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecommendationChanged(RecommendationChangedEvent event) {
+        evict(event);
+        if (!properties.getDelayedEviction().isZero()) {
+            taskScheduler.schedule(() -> evict(event), Instant.now().plus(properties.getDelayedEviction()));
+        }
+    }
+
+    private void evict(RecommendationChangedEvent event) {
+        cacheManager.getCache(CacheNames.RECOMMENDATION).evict(event.getRecommendationId());
+    }
+}
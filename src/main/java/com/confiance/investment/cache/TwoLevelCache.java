@@ -0,0 +1,181 @@
+package com.confiance.investment.cache;
+
+import com.confiance.investment.cache.CacheInvalidationBroadcaster.Operation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Size-bounded in-process Caffeine cache (L1) in front of a shared Redis cache (L2).
+ * Redis failures degrade to an L1-only cache instead of failing the request.
+ * Lookups are counted per layer as investment.cache.gets{cache, result=local_hit|remote_hit|miss}.
+ * <p>
+ * L1 keys are the key's string form, as in Redis, so an eviction broadcast by another
+ * instance (which only carries the string) hits the same entry.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final CaffeineCache local;
+    private final RedisCache remote;
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final Counter localHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+    private final Counter remoteErrors;
+
+    public TwoLevelCache(String name, CaffeineCache local, RedisCache remote, CacheInvalidationBroadcaster broadcaster,
+                         MeterRegistry meterRegistry) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.broadcaster = broadcaster;
+        this.localHits = getsCounter(meterRegistry, "local_hit");
+        this.remoteHits = getsCounter(meterRegistry, "remote_hit");
+        this.misses = getsCounter(meterRegistry, "miss");
+        this.remoteErrors = Counter.builder("investment.cache.remote.errors")
+                .description("Redis cache operations that failed and were degraded")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    private Counter getsCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("investment.cache.gets")
+                .description("Two-level cache lookups by the layer that answered")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = local.get(localKey(key));
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+
+        try {
+            value = remote.get(key);
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            misses.increment();
+            log.warn("Redis read failed for {}::{}, treating as a miss", name, key, e);
+            return null;
+        }
+        if (value != null && value.get() != null) {
+            remoteHits.increment();
+            local.put(localKey(key), value.get());
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        local.put(localKey(key), value);
+        try {
+            remote.put(key, value);
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            log.warn("Redis write failed for {}::{}", name, key, e);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        put(key, value);
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(localKey(key));
+        try {
+            remote.evict(key);
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            log.warn("Redis evict failed for {}::{}", name, key, e);
+        }
+        broadcaster.publish(name, Operation.EVICT, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        try {
+            remote.clear();
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            log.warn("Redis clear failed for {}", name, e);
+        }
+        broadcaster.publish(name, Operation.CLEAR, null);
+    }
+
+    // L1-only operations, applied when another instance broadcasts an invalidation
+
+    void evictLocal(String key) {
+        local.evict(key);
+    }
+
+    void clearLocal() {
+        local.clear();
+    }
+
+    private static String localKey(Object key) {
+        return key.toString();
+    }
+}
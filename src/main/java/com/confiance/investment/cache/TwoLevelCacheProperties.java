@@ -0,0 +1,37 @@
+package com.confiance.investment.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "investment.cache")
+public class TwoLevelCacheProperties {
+
+    // Redis (L2) TTL for caches without an explicit entry in timeToLive
+    private Duration defaultTimeToLive = Duration.ofMinutes(5);
+
+    // Redis (L2) TTL per cache name
+    private Map<String, Duration> timeToLive = new HashMap<>();
+
+    // Pub/sub channel used to drop L1 entries on the other instances
+    private String invalidationChannel = "investment:cache:invalidate";
+
+    // Second eviction after a recommendation write; covers reads from a lagging replica
+    private Duration delayedEviction = Duration.ZERO;
+
+    private Local local = new Local();
+
+    @Data
+    public static class Local {
+        private long maximumSize = 10_000;
+        private Duration timeToLive = Duration.ofSeconds(30);
+    }
+
+    public Duration timeToLiveFor(String cacheName) {
+        return timeToLive.getOrDefault(cacheName, defaultTimeToLive);
+    }
+}
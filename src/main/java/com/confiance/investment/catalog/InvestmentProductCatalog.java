@@ -0,0 +1,161 @@
+package com.confiance.investment.catalog;
+
+import com.confiance.common.enums.InvestmentStatus;
+import com.confiance.common.enums.InvestmentType;
+import com.confiance.investment.dto.InvestmentProductResponse;
+import com.confiance.investment.entity.InvestmentProduct;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Immutable snapshot of the investment product catalog. Products are indexed by type and
+ * status (EnumMap) and by lock-in period and minimum investment (TreeMap, for range
+ * lookups). A query starts from the smallest index match and filters the rest in memory.
+ * A refresh builds a new instance and swaps it in, so readers never lock.
+ */
+final class InvestmentProductCatalog {
+
+    static final InvestmentProductCatalog EMPTY = build(List.of());
+
+    private static final Comparator<InvestmentProductResponse> BY_ID =
+            Comparator.comparing(InvestmentProductResponse::getId);
+
+    private final List<InvestmentProductResponse> products;
+    private final Map<Long, InvestmentProductResponse> byId;
+    private final Map<InvestmentType, List<InvestmentProductResponse>> byType;
+    private final Map<InvestmentStatus, List<InvestmentProductResponse>> byStatus;
+    private final NavigableMap<Integer, List<InvestmentProductResponse>> byLockInMonths;
+    private final NavigableMap<BigDecimal, List<InvestmentProductResponse>> byMinInvestment;
+
+    private InvestmentProductCatalog(List<InvestmentProductResponse> products,
+                                     Map<Long, InvestmentProductResponse> byId,
+                                     Map<InvestmentType, List<InvestmentProductResponse>> byType,
+                                     Map<InvestmentStatus, List<InvestmentProductResponse>> byStatus,
+                                     NavigableMap<Integer, List<InvestmentProductResponse>> byLockInMonths,
+                                     NavigableMap<BigDecimal, List<InvestmentProductResponse>> byMinInvestment) {
+        this.products = products;
+        this.byId = byId;
+        this.byType = byType;
+        this.byStatus = byStatus;
+        this.byLockInMonths = byLockInMonths;
+        this.byMinInvestment = byMinInvestment;
+    }
+
+    static InvestmentProductCatalog build(List<InvestmentProduct> entities) {
+        List<InvestmentProductResponse> products = entities.stream()
+                .map(InvestmentProductCatalog::toResponse)
+                .sorted(BY_ID)
+                .toList();
+
+        Map<Long, InvestmentProductResponse> byId = new HashMap<>();
+        Map<InvestmentType, List<InvestmentProductResponse>> byType = new EnumMap<>(InvestmentType.class);
+        Map<InvestmentStatus, List<InvestmentProductResponse>> byStatus = new EnumMap<>(InvestmentStatus.class);
+        NavigableMap<Integer, List<InvestmentProductResponse>> byLockInMonths = new TreeMap<>();
+        NavigableMap<BigDecimal, List<InvestmentProductResponse>> byMinInvestment = new TreeMap<>();
+        for (InvestmentProductResponse product : products) {
+            byId.put(product.getId(), product);
+            byType.computeIfAbsent(product.getType(), k -> new ArrayList<>()).add(product);
+            byStatus.computeIfAbsent(product.getStatus(), k -> new ArrayList<>()).add(product);
+            byLockInMonths.computeIfAbsent(product.getLockInPeriodMonths(), k -> new ArrayList<>()).add(product);
+            // TreeMap keys compare by value, so 1000 and 1000.00 share a band
+            byMinInvestment.computeIfAbsent(product.getMinInvestment(), k -> new ArrayList<>()).add(product);
+        }
+        return new InvestmentProductCatalog(products, Map.copyOf(byId), freeze(byType), freeze(byStatus),
+                freeze(byLockInMonths), freeze(byMinInvestment));
+    }
+
+    int size() {
+        return products.size();
+    }
+
+    InvestmentProductResponse find(Long id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Products matching every non-null criterion, in id order. {@code amount} keeps products
+     * whose minimum is at most the amount and whose maximum (if any) is at least the amount.
+     */
+    List<InvestmentProductResponse> query(InvestmentType type, InvestmentStatus status,
+                                          Integer minLockInMonths, Integer maxLockInMonths,
+                                          BigDecimal amount, BigDecimal minExpectedReturns) {
+        Collection<InvestmentProductResponse> candidates = products;
+        List<Predicate<InvestmentProductResponse>> filters = new ArrayList<>();
+
+        if (type != null) {
+            candidates = smaller(candidates, byType.getOrDefault(type, List.of()));
+            filters.add(p -> p.getType() == type);
+        }
+        if (status != null) {
+            candidates = smaller(candidates, byStatus.getOrDefault(status, List.of()));
+            filters.add(p -> p.getStatus() == status);
+        }
+        if (minLockInMonths != null || maxLockInMonths != null) {
+            int from = minLockInMonths != null ? minLockInMonths : Integer.MIN_VALUE;
+            int to = maxLockInMonths != null ? maxLockInMonths : Integer.MAX_VALUE;
+            if (from > to) {
+                return List.of();
+            }
+            candidates = smaller(candidates, flatten(byLockInMonths.subMap(from, true, to, true).values()));
+            filters.add(p -> p.getLockInPeriodMonths() >= from && p.getLockInPeriodMonths() <= to);
+        }
+        if (amount != null) {
+            candidates = smaller(candidates, flatten(byMinInvestment.headMap(amount, true).values()));
+            filters.add(p -> p.getMinInvestment().compareTo(amount) <= 0
+                    && (p.getMaxInvestment() == null || p.getMaxInvestment().compareTo(amount) >= 0));
+        }
+        if (minExpectedReturns != null) {
+            filters.add(p -> p.getExpectedReturns().compareTo(minExpectedReturns) >= 0);
+        }
+
+        Predicate<InvestmentProductResponse> matches = filters.stream().reduce(p -> true, Predicate::and);
+        return candidates.stream().filter(matches).sorted(BY_ID).toList();
+    }
+
+    private static Collection<InvestmentProductResponse> smaller(Collection<InvestmentProductResponse> a,
+                                                                 Collection<InvestmentProductResponse> b) {
+        return b.size() < a.size() ? b : a;
+    }
+
+    private static List<InvestmentProductResponse> flatten(Collection<List<InvestmentProductResponse>> groups) {
+        List<InvestmentProductResponse> flattened = new ArrayList<>();
+        groups.forEach(flattened::addAll);
+        return flattened;
+    }
+
+    private static <K> Map<K, List<InvestmentProductResponse>> freeze(Map<K, List<InvestmentProductResponse>> index) {
+        index.replaceAll((key, list) -> List.copyOf(list));
+        return Collections.unmodifiableMap(index);
+    }
+
+    private static <K> NavigableMap<K, List<InvestmentProductResponse>> freeze(NavigableMap<K, List<InvestmentProductResponse>> index) {
+        index.replaceAll((key, list) -> List.copyOf(list));
+        return Collections.unmodifiableNavigableMap(index);
+    }
+
+    private static InvestmentProductResponse toResponse(InvestmentProduct product) {
+        return InvestmentProductResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .type(product.getType())
+                .expectedReturns(product.getExpectedReturns())
+                .minInvestment(product.getMinInvestment())
+                .maxInvestment(product.getMaxInvestment())
+                .lockInPeriodMonths(product.getLockInPeriodMonths())
+                .status(product.getStatus())
+                .createdAt(product.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.confiance.investment.catalog;
+
+import com.confiance.common.dto.PageResponse;
+import com.confiance.common.enums.InvestmentStatus;
+import com.confiance.common.enums.InvestmentType;
+import com.confiance.common.exception.ResourceNotFoundException;
+import com.confiance.investment.dto.InvestmentProductResponse;
+import com.confiance.investment.entity.InvestmentProduct;
+import com.confiance.investment.repository.InvestmentProductRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves the investment product catalog from an in-memory InvestmentProductCatalog. The
+ * catalog changes rarely, so reads never touch MySQL. A create rebuilds the snapshot on
+ * this instance before returning and tells other instances over Redis pub/sub. A periodic
+ * full reload picks up rows changed outside the service.
+ */
+@Service
+@Timed("investment.service")
+@RequiredArgsConstructor
+@Slf4j
+public class InvestmentProductCatalogService implements MessageListener {
+
+    private static final Map<String, Comparator<InvestmentProductResponse>> SORTS = Map.of(
+            "id", Comparator.comparing(InvestmentProductResponse::getId),
+            "name", Comparator.comparing(InvestmentProductResponse::getName, String.CASE_INSENSITIVE_ORDER),
+            "expectedReturns", Comparator.comparing(InvestmentProductResponse::getExpectedReturns),
+            "minInvestment", Comparator.comparing(InvestmentProductResponse::getMinInvestment),
+            "lockInPeriodMonths", Comparator.comparing(InvestmentProductResponse::getLockInPeriodMonths),
+            "createdAt", Comparator.comparing(InvestmentProductResponse::getCreatedAt,
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+
+    private final InvestmentProductRepository repository;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${investment.catalog.channel:investment:catalog-invalidations}")
+    private String channel;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicBoolean stale = new AtomicBoolean(false);
+    private volatile InvestmentProductCatalog catalog = InvestmentProductCatalog.EMPTY;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("investment.catalog.products", this, service -> service.catalog.size())
+                .description("Products in the in-memory catalog snapshot")
+                .register(meterRegistry);
+    }
+
+    public PageResponse<InvestmentProductResponse> getProducts(InvestmentType type, InvestmentStatus status,
+                                                               Integer minLockInMonths, Integer maxLockInMonths,
+                                                               BigDecimal amount, BigDecimal minExpectedReturns,
+                                                               int page, int size, String sortBy, String sortDirection) {
+        if (page < 0 || size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must be >= 0 and size >= 1");
+        }
+        Comparator<InvestmentProductResponse> sort = SORTS.get(sortBy);
+        if (sort == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sortBy must be one of " + SORTS.keySet());
+        }
+        if (sortDirection.equalsIgnoreCase("desc")) {
+            sort = sort.reversed();
+        }
+
+        List<InvestmentProductResponse> matches = catalog.query(type, status, minLockInMonths, maxLockInMonths,
+                amount, minExpectedReturns);
+        List<InvestmentProductResponse> sorted = matches.stream()
+                .sorted(sort.thenComparing(InvestmentProductResponse::getId))
+                .toList();
+
+        int from = (int) Math.min((long) page * size, sorted.size());
+        int to = Math.min(from + size, sorted.size());
+        int totalPages = (sorted.size() + size - 1) / size;
+        return PageResponse.<InvestmentProductResponse>builder()
+                .content(sorted.subList(from, to))
+                .pageNumber(page)
+                .pageSize(size)
+                .totalElements(sorted.size())
+                .totalPages(totalPages)
+                .first(page == 0)
+                .last(page >= totalPages - 1)
+                .empty(from == to)
+                .build();
+    }
+
+    public InvestmentProductResponse getProduct(Long id) {
+        InvestmentProductResponse product = catalog.find(id);
+        if (product == null) {
+            throw new ResourceNotFoundException("InvestmentProduct", "id", id);
+        }
+        return product;
+    }
+
+    public InvestmentProductResponse createProduct(InvestmentProduct product) {
+        product.setId(null);
+        InvestmentProduct saved = repository.save(product);
+        refresh();
+        try {
+            redisTemplate.convertAndSend(channel, instanceId);
+        } catch (RuntimeException e) {
+            log.warn("Could not broadcast catalog invalidation; other instances catch up on their next reload", e);
+        }
+        return getProduct(saved.getId());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (!instanceId.equals(new String(message.getBody(), StandardCharsets.UTF_8))) {
+            stale.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${investment.catalog.refresh-interval-ms:1000}")
+    public void refreshIfStale() {
+        if (stale.getAndSet(false)) {
+            refresh();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${investment.catalog.reload-interval-ms:600000}", initialDelay = 0)
+    public synchronized void refresh() {
+        try {
+            long start = System.currentTimeMillis();
+            InvestmentProductCatalog rebuilt = InvestmentProductCatalog.build(repository.findAll());
+            catalog = rebuilt;
+            log.debug("Reloaded investment product catalog: {} products in {} ms",
+                    rebuilt.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            stale.set(true);
+            log.error("Failed to reload investment product catalog; serving the previous snapshot", e);
+        }
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+}
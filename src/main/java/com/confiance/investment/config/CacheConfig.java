@@ -0,0 +1,89 @@
+package com.confiance.investment.config;
+
+import com.confiance.common.dto.PageResponse;
+import com.confiance.investment.cache.CacheInvalidationBroadcaster;
+import com.confiance.investment.cache.CacheInvalidationListener;
+import com.confiance.investment.cache.CacheNames;
+import com.confiance.investment.cache.TwoLevelCacheManager;
+import com.confiance.investment.cache.TwoLevelCacheProperties;
+import com.confiance.investment.dto.RecommendationResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(TwoLevelCacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheInvalidationBroadcaster cacheInvalidationBroadcaster(StringRedisTemplate redisTemplate,
+                                                                     TwoLevelCacheProperties properties) {
+        return new CacheInvalidationBroadcaster(redisTemplate, properties.getInvalidationChannel());
+    }
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             ObjectMapper objectMapper,
+                                             TwoLevelCacheProperties properties,
+                                             CacheInvalidationBroadcaster broadcaster,
+                                             MeterRegistry meterRegistry) {
+        JavaType recommendation = objectMapper.getTypeFactory().constructType(RecommendationResponse.class);
+        JavaType recommendationPage = objectMapper.getTypeFactory()
+                .constructParametricType(PageResponse.class, RecommendationResponse.class);
+
+        Map<String, RedisCacheConfiguration> configurations = new HashMap<>();
+        configurations.put(CacheNames.RECOMMENDATION, redisCacheConfiguration(CacheNames.RECOMMENDATION, recommendation, objectMapper, properties));
+        for (String pageCache : new String[]{CacheNames.OPEN_RECOMMENDATIONS, CacheNames.MARKET_RECOMMENDATIONS, CacheNames.FILTERED_RECOMMENDATIONS}) {
+            configurations.put(pageCache, redisCacheConfiguration(pageCache, recommendationPage, objectMapper, properties));
+        }
+
+        // SCAN rather than KEYS so clear() never blocks Redis
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1000));
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(cacheWriter)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(properties.getDefaultTimeToLive())
+                        .disableCachingNullValues())
+                .withInitialCacheConfigurations(configurations)
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new TwoLevelCacheManager(redisCacheManager, properties, broadcaster, meterRegistry);
+    }
+
+    @Bean
+    public CacheInvalidationListener cacheInvalidationListener(TwoLevelCacheManager cacheManager,
+                                                               CacheInvalidationBroadcaster broadcaster,
+                                                               RedisMessageListenerContainer listenerContainer) {
+        CacheInvalidationListener listener = new CacheInvalidationListener(cacheManager, broadcaster);
+        listenerContainer.addMessageListener(listener, new ChannelTopic(broadcaster.getChannel()));
+        return listener;
+    }
+
+    private RedisCacheConfiguration redisCacheConfiguration(String cacheName, JavaType valueType,
+                                                            ObjectMapper objectMapper,
+                                                            TwoLevelCacheProperties properties) {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(properties.timeToLiveFor(cacheName))
+                .disableCachingNullValues()
+                .serializeValuesWith(SerializationPair.fromSerializer(
+                        new Jackson2JsonRedisSerializer<>(objectMapper, valueType)));
+    }
+}
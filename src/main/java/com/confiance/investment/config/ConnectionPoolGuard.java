@@ -0,0 +1,99 @@
+package com.confiance.investment.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks the Hikari pool against the threading mode at startup. With platform threads
+ * Tomcat's thread count caps DB concurrency, so a larger pool only holds idle
+ * connections. With virtual threads nothing caps request concurrency except the pool.
+ * Requests then queue in Hikari for up to connection-timeout, which must stay short.
+ * Across all instances the pools must also fit in MySQL's max_connections.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConnectionPoolGuard implements ApplicationRunner {
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final Environment environment;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int tomcatMaxThreads;
+
+    @Value("${investment.db.background-connections:4}")
+    private int backgroundConnections;
+
+    @Value("${investment.db.expected-instances:2}")
+    private int expectedInstances;
+
+    @Value("${investment.db.max-virtual-connection-timeout-ms:5000}")
+    private long maxVirtualConnectionTimeoutMs;
+
+    @Value("${investment.db.fail-on-pool-misconfiguration:false}")
+    private boolean failOnMisconfiguration;
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return;
+        }
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        int poolSize = hikari.getMaximumPoolSize();
+        boolean virtual = Threading.VIRTUAL.isActive(environment);
+
+        List<String> problems = new ArrayList<>();
+        if (virtual) {
+            if (hikari.getConnectionTimeout() > maxVirtualConnectionTimeoutMs) {
+                problems.add(String.format("connection-timeout %d ms exceeds %d ms; with virtual threads a saturated pool "
+                                + "queues every request that long before failing",
+                        hikari.getConnectionTimeout(), maxVirtualConnectionTimeoutMs));
+            }
+        } else if (poolSize > tomcatMaxThreads + backgroundConnections) {
+            problems.add(String.format("maximum-pool-size %d exceeds %d Tomcat threads + %d background connections; "
+                    + "the extra connections can never be used", poolSize, tomcatMaxThreads, backgroundConnections));
+        }
+
+        Integer maxConnections = maxConnections();
+        if (maxConnections != null && (long) poolSize * expectedInstances > maxConnections) {
+            problems.add(String.format("maximum-pool-size %d x %d instances exceeds MySQL max_connections %d",
+                    poolSize, expectedInstances, maxConnections));
+        }
+
+        if (problems.isEmpty()) {
+            log.info("Connection pool: {} connections, {} ms timeout, {} threads",
+                    poolSize, hikari.getConnectionTimeout(), virtual ? "virtual" : "platform");
+            return;
+        }
+        String message = "Connection pool misconfigured: " + String.join("; ", problems);
+        if (failOnMisconfiguration) {
+            throw new IllegalStateException(message);
+        }
+        problems.forEach(problem -> log.warn("Connection pool: {}", problem));
+    }
+
+    // MySQL only; other databases (local H2) skip the check
+    private Integer maxConnections() {
+        try {
+            return jdbcTemplate.queryForObject("SELECT @@max_connections", Integer.class);
+        } catch (DataAccessException e) {
+            log.debug("Could not read max_connections", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.confiance.investment.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * DTOs annotated with @JsonFilter serialize every property unless a request supplies
+     * its own filter (see SparseFieldsAdvice). This also covers the Redis cache serializers.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer lenientFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+}
@@ -0,0 +1,84 @@
+package com.confiance.investment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service timers (@Timed), JSON serialization time and slow-query logging. Repository,
+ * Hibernate, HikariCP and HTTP metrics come from Spring Boot auto-configuration. See
+ * management.metrics in application.yml for percentiles and histograms.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Replaces Boot's JSON converter with one that times body serialization, so response
+     * encoding shows up separately from service and DB time.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry meterRegistry) {
+        Timer timer = Timer.builder("investment.http.serialization")
+                .description("Time to serialize JSON response bodies")
+                .register(meterRegistry);
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                    throws IOException, HttpMessageNotWritableException {
+                long start = System.nanoTime();
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+        };
+    }
+
+    /**
+     * Wraps the DataSource so statements slower than the threshold are logged with their
+     * bound parameters (logger "investment.slow-query").
+     */
+    @Bean
+    public static BeanPostProcessor slowQueryLoggingPostProcessor(ObjectProvider<Environment> environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                Environment env = environment.getObject();
+                if (!env.getProperty("investment.db.slow-query.enabled", Boolean.class, true)) {
+                    return bean;
+                }
+                long thresholdMs = env.getProperty("investment.db.slow-query.threshold-ms", Long.class, 500L);
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .logSlowQueryBySlf4j(thresholdMs, TimeUnit.MILLISECONDS, SLF4JLogLevel.WARN, "investment.slow-query")
+                        .build();
+            }
+        };
+    }
+}
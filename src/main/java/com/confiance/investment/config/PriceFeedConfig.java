@@ -0,0 +1,58 @@
+package com.confiance.investment.config;
+
+import com.confiance.common.enums.RecommendationStatus;
+import com.confiance.investment.pricefeed.OpenRecommendationIndex;
+import com.confiance.investment.pricefeed.PriceFeed;
+import com.confiance.investment.pricefeed.PriceTriggerProcessor;
+import com.confiance.investment.pricefeed.ReplayPriceFeed;
+import com.confiance.investment.repository.RecommendationRepository;
+import com.confiance.investment.service.RecommendationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.nio.file.Path;
+
+/**
+ * Price-driven target/stop-loss transitions, off unless investment.price-feed.enabled=true.
+ * Another feed can be plugged in by declaring a PriceFeed bean. The replay feed is only
+ * the default.
+ */
+@Configuration
+@ConditionalOnProperty(name = "investment.price-feed.enabled", havingValue = "true")
+public class PriceFeedConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(PriceFeed.class)
+    public PriceFeed replayPriceFeed(@Value("${investment.price-feed.replay.file}") Path file,
+                                     @Value("${investment.price-feed.replay.ticks-per-second:0}") int ticksPerSecond,
+                                     @Value("${investment.price-feed.replay.loop:false}") boolean loop,
+                                     @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor taskExecutor) {
+        return new ReplayPriceFeed(file, ticksPerSecond, loop, taskExecutor);
+    }
+
+    @Bean
+    public OpenRecommendationIndex openRecommendationIndex() {
+        return new OpenRecommendationIndex();
+    }
+
+    @Bean
+    public PriceTriggerProcessor priceTriggerProcessor(PriceFeed priceFeed,
+                                                       OpenRecommendationIndex index,
+                                                       RecommendationRepository recommendationRepository,
+                                                       RecommendationService recommendationService,
+                                                       @Value("${investment.price-feed.target-hit-status}") RecommendationStatus targetHitStatus,
+                                                       @Value("${investment.price-feed.stop-loss-status}") RecommendationStatus stopLossStatus,
+                                                       @Value("${investment.batch.max-size:500}") int maxBatchSize,
+                                                       @Value("${investment.price-feed.max-batch-attempts:3}") int maxBatchAttempts,
+                                                       MeterRegistry meterRegistry) {
+        return new PriceTriggerProcessor(priceFeed, index, recommendationRepository, recommendationService,
+                targetHitStatus, stopLossStatus, maxBatchSize, maxBatchAttempts, meterRegistry);
+    }
+}
@@ -0,0 +1,84 @@
+package com.confiance.investment.config;
+
+import com.confiance.investment.datasource.ReadReplicaProperties;
+import com.confiance.investment.datasource.ReadYourWritesInterceptor;
+import com.confiance.investment.datasource.ReplicaHealthMonitor;
+import com.confiance.investment.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces Boot's single DataSource with primary + read replicas when
+ * investment.datasource.read-replicas.enabled is true. The primary keeps every
+ * spring.datasource and spring.datasource.hikari setting. Replicas share its driver and,
+ * unless overridden, its credentials and connection timeout.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "investment.datasource.read-replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(ReadReplicaProperties properties,
+                                                     DataSourceProperties dataSourceProperties,
+                                                     Environment environment,
+                                                     MeterRegistry meterRegistry) {
+        long connectionTimeout = Binder.get(environment)
+                .bind("spring.datasource.hikari.connection-timeout", Long.class)
+                .orElse(30_000L);
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        int index = 0;
+        for (ReadReplicaProperties.Replica replica : properties.getReplicas()) {
+            String name = replica.getName() != null ? replica.getName() : "replica-" + index;
+            index++;
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername());
+            pool.setPassword(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword());
+            pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            pool.setMaximumPoolSize(properties.getMaximumPoolSize());
+            pool.setConnectionTimeout(connectionTimeout);
+            pool.setReadOnly(true);
+            // Boot only binds pool metrics for the DataSource bean, which resolves to the primary
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(name, pool);
+        }
+        return new ReplicaHealthMonitor(replicas, properties);
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, Environment environment,
+                                 ReplicaHealthMonitor replicaHealthMonitor) {
+        return new ReplicaRoutingDataSource(primary(dataSourceProperties, environment), replicaHealthMonitor);
+    }
+
+    @Bean
+    public ReadYourWritesInterceptor readYourWritesInterceptor(ReadReplicaProperties properties,
+                                                               StringRedisTemplate redisTemplate) {
+        return new ReadYourWritesInterceptor(properties, redisTemplate);
+    }
+
+    private static HikariDataSource primary(DataSourceProperties dataSourceProperties, Environment environment) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        return primary;
+    }
+}
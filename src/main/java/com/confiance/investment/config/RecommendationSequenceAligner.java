@@ -0,0 +1,46 @@
+package com.confiance.investment.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recommendation ids used to come from an IDENTITY column. Moves the pooled sequence
+ * table past the highest existing id, live or archived, so the first allocated block
+ * cannot collide with it. No-op once the sequence is ahead.
+ * <p>
+ * Flyway does this in V4 for migrated databases; this covers databases maintained by
+ * ddl-auto. It runs once all singletons exist, before the web server accepts requests.
+ * Only MySQL keeps the sequence in a table: other databases (H2 locally) use a native
+ * sequence and are skipped.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendationSequenceAligner implements SmartInitializingSingleton {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(database)) {
+            log.debug("Skipping recommendations_seq alignment on {}", database);
+            return;
+        }
+        Long maxId = jdbcTemplate.queryForObject("SELECT GREATEST(" +
+                "(SELECT COALESCE(MAX(id), 0) FROM recommendations), " +
+                "(SELECT COALESCE(MAX(id), 0) FROM recommendations_archive))", Long.class);
+        long floor = maxId + ALLOCATION_SIZE + 1;
+        int updated = jdbcTemplate.update("UPDATE recommendations_seq SET next_val = ? WHERE next_val < ?", floor, floor);
+        if (updated > 0) {
+            log.info("Moved recommendations_seq to {} (max existing id {})", floor, maxId);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.confiance.investment.config;
+
+import com.confiance.investment.catalog.InvestmentProductCatalogService;
+import com.confiance.investment.search.TickerSearchService;
+import com.confiance.investment.stream.RecommendationStreamHub;
+import com.confiance.investment.stream.RecommendationStreamPublisher;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Pub/sub channels this instance listens on, all sharing the one listener container.
+ */
+@Configuration
+public class RedisSubscriptionConfig {
+
+    @Bean
+    public InitializingBean recommendationStreamSubscription(RedisMessageListenerContainer listenerContainer,
+                                                             RecommendationStreamHub hub,
+                                                             RecommendationStreamPublisher publisher) {
+        return () -> listenerContainer.addMessageListener(hub, new ChannelTopic(publisher.getChannel()));
+    }
+
+    @Bean
+    public InitializingBean tickerSearchSubscription(RedisMessageListenerContainer listenerContainer,
+                                                     TickerSearchService searchService) {
+        return () -> listenerContainer.addMessageListener(searchService, new ChannelTopic(searchService.getChannel()));
+    }
+
+    @Bean
+    public InitializingBean productCatalogSubscription(RedisMessageListenerContainer listenerContainer,
+                                                       InvestmentProductCatalogService catalogService) {
+        return () -> listenerContainer.addMessageListener(catalogService, new ChannelTopic(catalogService.getChannel()));
+    }
+}
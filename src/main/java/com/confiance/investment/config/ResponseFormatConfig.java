@@ -0,0 +1,61 @@
+package com.confiance.investment.config;
+
+import com.confiance.investment.protobuf.ProtobufResponseHttpMessageConverter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary response bodies chosen by Accept header. JSON stays first in the converter list,
+ * so it is still the default for wildcard and missing Accept headers. API responses carry
+ * Vary: Accept so shared caches keep the formats apart; their ETags are weak, as every
+ * format of the same state shares one.
+ */
+@Configuration
+public class ResponseFormatConfig implements WebMvcConfigurer {
+
+    /**
+     * application/cbor from Boot's builder, so the JSON settings (java.time handling,
+     * @JsonFilter defaults, ?fields= via SparseFieldsAdvice) apply unchanged. Same class as
+     * the default CBOR converter, which it replaces in place.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * application/x-protobuf, added last rather than as a bean: Boot puts converter beans it
+     * cannot match to a default at the front, which would make protobuf the default.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ProtobufResponseHttpMessageConverter());
+    }
+
+    /**
+     * First in the chain, so 304s answered by later interceptors carry the header too.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**").order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
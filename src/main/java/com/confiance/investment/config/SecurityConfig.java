@@ -2,8 +2,13 @@ package com.confiance.investment.config;
 
 import com.confiance.common.security.JwtAuthenticationFilter;
 import com.confiance.common.security.JwtUtil;
+import com.confiance.investment.security.CachingJwtAuthenticationFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.Filter;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -13,6 +18,8 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -20,6 +27,17 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${investment.security.jwt-cache.enabled:true}")
+    private boolean jwtCacheEnabled;
+
+    @Value("${investment.security.jwt-cache.maximum-size:100000}")
+    private long jwtCacheMaximumSize;
+
+    @Value("${investment.security.jwt-cache.max-time-to-live:15m}")
+    private Duration jwtCacheMaxTimeToLive;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -48,8 +66,14 @@ public class SecurityConfig {
         return http.build();
     }
 
-    @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtUtil);
+    // Not a bean: a Filter bean would also be registered by Boot as a servlet filter and
+    // run a second time outside the security chain
+    private Filter jwtAuthenticationFilter() {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil);
+        if (!jwtCacheEnabled) {
+            return filter;
+        }
+        return new CachingJwtAuthenticationFilter(filter, objectMapper, jwtCacheMaximumSize,
+                jwtCacheMaxTimeToLive, meterRegistry);
     }
 }
@@ -0,0 +1,24 @@
+package com.confiance.investment.config;
+
+import com.confiance.investment.controller.CollectionETagInterceptor;
+import com.confiance.investment.datasource.ReadYourWritesInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CollectionETagInterceptor collectionETagInterceptor;
+    // Only present when read replicas are enabled
+    private final ObjectProvider<ReadYourWritesInterceptor> readYourWritesInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        readYourWritesInterceptor.ifAvailable(registry::addInterceptor);
+        registry.addInterceptor(collectionETagInterceptor).addPathPatterns("/api/v1/recommendations/**", "/api/v1/recommendations");
+    }
+}
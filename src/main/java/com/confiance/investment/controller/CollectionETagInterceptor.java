@@ -0,0 +1,52 @@
+package com.confiance.investment.controller;
+
+import com.confiance.investment.datasource.ReadReplicaProperties;
+import com.confiance.investment.datasource.ReadYourWrites;
+import com.confiance.investment.stream.RecommendationVersionTracker;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Conditional GET for @VersionedCollection endpoints. The version is read before the
+ * handler loads any data, and cached list pages are keyed by the version current when
+ * they were loaded, so the ETag can only be older than the body. That costs a client one
+ * extra 200 and never produces a false 304.
+ * <p>
+ * With read replicas, a replica may not have the write behind a new version yet. For
+ * max-lag after each version change these requests therefore read from the primary, so
+ * neither the response nor the page cached under the new version predates it.
+ */
+@Component
+@RequiredArgsConstructor
+public class CollectionETagInterceptor implements HandlerInterceptor {
+
+    private final RecommendationVersionTracker versionTracker;
+    // Only present when read replicas are enabled
+    private final ObjectProvider<ReadReplicaProperties> readReplicaProperties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method) || !method.hasMethodAnnotation(VersionedCollection.class)) {
+            return true;
+        }
+        String etag = versionTracker.currentETag();
+        ReadReplicaProperties replicas = readReplicaProperties.getIfAvailable();
+        if (replicas != null && versionTracker.changedWithin(replicas.getMaxLag())) {
+            ReadYourWrites.pinToPrimary();
+        }
+        if (etag == null) {
+            return true;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        // Sets the ETag header, and the 304 status when If-None-Match matches
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
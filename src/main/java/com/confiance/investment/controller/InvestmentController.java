@@ -1,39 +1,56 @@
 package com.confiance.investment.controller;
 
 import com.confiance.common.dto.ApiResponse;
+import com.confiance.common.dto.PageResponse;
+import com.confiance.common.enums.InvestmentStatus;
+import com.confiance.common.enums.InvestmentType;
+import com.confiance.investment.catalog.InvestmentProductCatalogService;
+import com.confiance.investment.dto.InvestmentProductResponse;
 import com.confiance.investment.entity.InvestmentProduct;
-import com.confiance.investment.repository.InvestmentProductRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+
 @RestController
 @RequestMapping("/api/v1/investments")
 @RequiredArgsConstructor
+@Tag(name = "Investments", description = "Investment product catalog APIs")
 public class InvestmentController {
 
-    private final InvestmentProductRepository repository;
+    private final InvestmentProductCatalogService catalogService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<InvestmentProduct>>> getAllProducts(
+    @Operation(summary = "Get Investment Products", description = "Filter, sort and page the product catalog. Served from an in-memory snapshot")
+    public ResponseEntity<ApiResponse<PageResponse<InvestmentProductResponse>>> getAllProducts(
+            @RequestParam(name = "type", required = false) InvestmentType type,
+            @RequestParam(name = "status", required = false) InvestmentStatus status,
+            @RequestParam(name = "minLockInMonths", required = false) Integer minLockInMonths,
+            @RequestParam(name = "maxLockInMonths", required = false) Integer maxLockInMonths,
+            @RequestParam(name = "amount", required = false) BigDecimal amount,
+            @RequestParam(name = "minExpectedReturns", required = false) BigDecimal minExpectedReturns,
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "size", defaultValue = "20") int size) {
-        Page<InvestmentProduct> products = repository.findAll(PageRequest.of(page, size));
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "sortBy", defaultValue = "name") String sortBy,
+            @RequestParam(name = "sortDirection", defaultValue = "asc") String sortDirection) {
+        PageResponse<InvestmentProductResponse> products = catalogService.getProducts(type, status,
+                minLockInMonths, maxLockInMonths, amount, minExpectedReturns, page, size, sortBy, sortDirection);
         return ResponseEntity.ok(ApiResponse.success(products));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<InvestmentProduct>> getProduct(@PathVariable("id") Long id) {
-        return repository.findById(id)
-                .map(product -> ResponseEntity.ok(ApiResponse.success(product)))
-                .orElse(ResponseEntity.notFound().build());
+    @Operation(summary = "Get Investment Product", description = "Get investment product by ID")
+    public ResponseEntity<ApiResponse<InvestmentProductResponse>> getProduct(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(ApiResponse.success(catalogService.getProduct(id)));
     }
 
     @PostMapping
-    public ResponseEntity<ApiResponse<InvestmentProduct>> createProduct(@RequestBody InvestmentProduct product) {
-        InvestmentProduct saved = repository.save(product);
+    @Operation(summary = "Create Investment Product", description = "Create a product and refresh the catalog snapshot")
+    public ResponseEntity<ApiResponse<InvestmentProductResponse>> createProduct(@RequestBody InvestmentProduct product) {
+        InvestmentProductResponse saved = catalogService.createProduct(product);
         return ResponseEntity.ok(ApiResponse.success("Investment product created", saved));
     }
-}
\ No newline at end of file
+}
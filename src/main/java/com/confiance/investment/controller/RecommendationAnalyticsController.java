@@ -0,0 +1,62 @@
+package com.confiance.investment.controller;
+
+import com.confiance.common.dto.ApiResponse;
+import com.confiance.common.enums.Market;
+import com.confiance.common.enums.RecommendationType;
+import com.confiance.investment.backtest.BacktestService;
+import com.confiance.investment.backtest.BacktestStrategy;
+import com.confiance.investment.dto.AnalyticsDimension;
+import com.confiance.investment.dto.BacktestResponse;
+import com.confiance.investment.dto.PerformanceAnalyticsResponse;
+import com.confiance.investment.service.RecommendationAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v1/recommendations/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Recommendation Analytics", description = "Aggregated recommendation performance APIs")
+public class RecommendationAnalyticsController {
+
+    private final RecommendationAnalyticsService analyticsService;
+    private final BacktestService backtestService;
+
+    @GetMapping("/performance")
+    @Operation(summary = "Get Performance Analytics", description = "Hit rate, average return, holding period and risk-reward distribution grouped by market, trade type or month")
+    public ResponseEntity<ApiResponse<PerformanceAnalyticsResponse>> getPerformance(
+            @RequestParam(defaultValue = "MARKET") AnalyticsDimension groupBy,
+            @RequestParam(required = false) Market market,
+            @RequestParam(required = false) RecommendationType tradeType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        PerformanceAnalyticsResponse response = analyticsService.getPerformance(groupBy, market, tradeType, fromDate, toDate);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/backtest")
+    @Operation(summary = "Backtest Recommendations", description = "Simulate following every call with equal-weight sizing, per market and strategy: equity curve, max drawdown and CAGR")
+    public ResponseEntity<ApiResponse<BacktestResponse>> backtest(
+            @RequestParam(required = false) Set<Market> markets,
+            @RequestParam(required = false) Set<BacktestStrategy> strategies,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(defaultValue = "100000") BigDecimal initialCapital) {
+        BacktestResponse response = backtestService.runBacktest(markets, strategies, fromDate, toDate, initialCapital);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh Performance Summary", description = "Rebuild the materialized performance summary now (Admin only)")
+    public ResponseEntity<ApiResponse<Void>> refresh() {
+        analyticsService.refresh();
+        return ResponseEntity.ok(ApiResponse.success("Performance summary refreshed", null));
+    }
+}
@@ -4,16 +4,41 @@ import com.confiance.common.dto.ApiResponse;
 import com.confiance.common.dto.PageResponse;
 import com.confiance.common.enums.Market;
 import com.confiance.common.enums.RecommendationStatus;
+import com.confiance.investment.dto.CursorPageResponse;
+import com.confiance.investment.dto.RecommendationBatchResponse;
+import com.confiance.investment.dto.RecommendationHistoryResponse;
 import com.confiance.investment.dto.RecommendationRequest;
 import com.confiance.investment.dto.RecommendationResponse;
+import com.confiance.investment.dto.RecommendationStatusUpdate;
+import com.confiance.investment.dto.TickerSuggestion;
+import com.confiance.investment.export.ExportFormat;
+import com.confiance.investment.search.TickerSearchService;
+import com.confiance.investment.service.RecommendationExportService;
+import com.confiance.investment.service.RecommendationHistoryService;
 import com.confiance.investment.service.RecommendationService;
+import com.confiance.investment.stream.RecommendationStreamHub;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/recommendations")
@@ -22,6 +47,10 @@ import org.springframework.web.bind.annotation.*;
 public class RecommendationController {
 
     private final RecommendationService recommendationService;
+    private final RecommendationStreamHub streamHub;
+    private final RecommendationExportService exportService;
+    private final TickerSearchService tickerSearchService;
+    private final RecommendationHistoryService historyService;
 
     @PostMapping
     @Operation(summary = "Create Recommendation", description = "Create a new stock recommendation (Admin only)")
@@ -33,6 +62,24 @@ public class RecommendationController {
                 .body(ApiResponse.success("Recommendation created successfully", response));
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create Recommendations in Bulk", description = "Create many recommendations in one transaction with per-item results (Admin only)")
+    public ResponseEntity<ApiResponse<RecommendationBatchResponse>> createRecommendations(
+            @RequestBody List<RecommendationRequest> requests,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        RecommendationBatchResponse response = recommendationService.createRecommendations(requests, userId);
+        return ResponseEntity.status(response.getSucceeded() > 0 ? HttpStatus.CREATED : HttpStatus.OK)
+                .body(ApiResponse.success(batchMessage("created", response), response));
+    }
+
+    @PatchMapping("/batch")
+    @Operation(summary = "Update Recommendation Statuses in Bulk", description = "Update status, sell price and exit date of many recommendations in one transaction (Admin only)")
+    public ResponseEntity<ApiResponse<RecommendationBatchResponse>> updateRecommendationStatuses(
+            @RequestBody List<RecommendationStatusUpdate> updates) {
+        RecommendationBatchResponse response = recommendationService.updateRecommendationStatuses(updates);
+        return ResponseEntity.ok(ApiResponse.success(batchMessage("updated", response), response));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update Recommendation", description = "Update an existing recommendation (Admin only)")
     public ResponseEntity<ApiResponse<RecommendationResponse>> updateRecommendation(
@@ -44,13 +91,33 @@ public class RecommendationController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get Recommendation", description = "Get recommendation by ID")
-    public ResponseEntity<ApiResponse<RecommendationResponse>> getRecommendation(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<RecommendationResponse>> getRecommendation(@PathVariable Long id, WebRequest webRequest) {
+        // Served from the recommendation cache when warm, so a 304 costs no MySQL round trip
         RecommendationResponse response = recommendationService.getRecommendationById(id);
+        // Weak: every negotiated format of this version shares it (responses carry Vary: Accept)
+        String etag = "W/\"" + response.getId() + "-" + lastModified(response) + "\"";
+        if (webRequest.checkNotModified(etag, lastModified(response))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success(response));
+    }
+
+    @GetMapping("/{id}/history")
+    @Operation(summary = "Get Recommendation History", description = "Paginated change log of a recommendation, newest first. Written asynchronously, so the latest change may take up to a second to appear")
+    public ResponseEntity<ApiResponse<PageResponse<RecommendationHistoryResponse>>> getRecommendationHistory(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PageResponse<RecommendationHistoryResponse> response = historyService.getHistory(id, page, size);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @GetMapping
+    @VersionedCollection
     @Operation(summary = "Get All Recommendations", description = "Get paginated list of all recommendations")
+    @Parameter(name = SparseFieldsAdvice.FIELDS_PARAM, in = ParameterIn.QUERY, description = SparseFieldsAdvice.FIELDS_DESCRIPTION)
     public ResponseEntity<ApiResponse<PageResponse<RecommendationResponse>>> getAllRecommendations(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
@@ -60,19 +127,38 @@ public class RecommendationController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/scroll")
+    @VersionedCollection
+    @Operation(summary = "Scroll All Recommendations", description = "Cursor-paginated list of all recommendations, newest first")
+    @Parameter(name = SparseFieldsAdvice.FIELDS_PARAM, in = ParameterIn.QUERY, description = SparseFieldsAdvice.FIELDS_DESCRIPTION)
+    public ResponseEntity<ApiResponse<CursorPageResponse<RecommendationResponse>>> scrollAllRecommendations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPageResponse<RecommendationResponse> response = recommendationService.getAllRecommendationsByCursor(cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/filter")
-    @Operation(summary = "Get Recommendations with Filters", description = "Get recommendations filtered by market and status")
+    @VersionedCollection
+    @Operation(summary = "Get Recommendations with Filters", description = "Get recommendations filtered by market, status, minimum return % and minimum risk-reward ratio")
+    @Parameter(name = SparseFieldsAdvice.FIELDS_PARAM, in = ParameterIn.QUERY, description = SparseFieldsAdvice.FIELDS_DESCRIPTION)
     public ResponseEntity<ApiResponse<PageResponse<RecommendationResponse>>> getRecommendationsWithFilters(
             @RequestParam(required = false) Market market,
             @RequestParam(required = false) RecommendationStatus status,
+            @RequestParam(required = false) BigDecimal minReturnPercentage,
+            @RequestParam(required = false) BigDecimal minRiskRewardRatio,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
-        PageResponse<RecommendationResponse> response = recommendationService.getRecommendationsWithFilters(market, status, page, size);
+        PageResponse<RecommendationResponse> response = recommendationService.getRecommendationsWithFilters(
+                market, status, minReturnPercentage, minRiskRewardRatio, page, size);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @GetMapping("/open")
+    @VersionedCollection
     @Operation(summary = "Get Open Recommendations", description = "Get all active/open recommendations for users")
+    @Parameter(name = SparseFieldsAdvice.FIELDS_PARAM, in = ParameterIn.QUERY, description = SparseFieldsAdvice.FIELDS_DESCRIPTION)
     public ResponseEntity<ApiResponse<PageResponse<RecommendationResponse>>> getOpenRecommendations(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
@@ -80,8 +166,22 @@ public class RecommendationController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/open/scroll")
+    @VersionedCollection
+    @Operation(summary = "Scroll Open Recommendations", description = "Cursor-paginated list of active/open recommendations, newest first")
+    @Parameter(name = SparseFieldsAdvice.FIELDS_PARAM, in = ParameterIn.QUERY, description = SparseFieldsAdvice.FIELDS_DESCRIPTION)
+    public ResponseEntity<ApiResponse<CursorPageResponse<RecommendationResponse>>> scrollOpenRecommendations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPageResponse<RecommendationResponse> response = recommendationService.getOpenRecommendationsByCursor(cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/market/{market}")
+    @VersionedCollection
     @Operation(summary = "Get Recommendations by Market", description = "Get recommendations for a specific market")
+    @Parameter(name = SparseFieldsAdvice.FIELDS_PARAM, in = ParameterIn.QUERY, description = SparseFieldsAdvice.FIELDS_DESCRIPTION)
     public ResponseEntity<ApiResponse<PageResponse<RecommendationResponse>>> getRecommendationsByMarket(
             @PathVariable Market market,
             @RequestParam(defaultValue = "0") int page,
@@ -90,10 +190,68 @@ public class RecommendationController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/market/{market}/scroll")
+    @VersionedCollection
+    @Operation(summary = "Scroll Recommendations by Market", description = "Cursor-paginated list of recommendations for a specific market, newest first")
+    @Parameter(name = SparseFieldsAdvice.FIELDS_PARAM, in = ParameterIn.QUERY, description = SparseFieldsAdvice.FIELDS_DESCRIPTION)
+    public ResponseEntity<ApiResponse<CursorPageResponse<RecommendationResponse>>> scrollRecommendationsByMarket(
+            @PathVariable Market market,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPageResponse<RecommendationResponse> response = recommendationService.getRecommendationsByMarketByCursor(market, cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search Tickers", description = "Ranked typeahead suggestions matching ticker symbol or company name by prefix or fuzzy match")
+    public ResponseEntity<ApiResponse<PageResponse<TickerSuggestion>>> searchTickers(
+            @RequestParam String q,
+            @RequestParam(required = false) Market market,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        PageResponse<TickerSuggestion> response = tickerSearchService.search(q, market, page, size);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export Recommendations", description = "Stream all matching recommendations as NDJSON or CSV in constant memory")
+    public ResponseEntity<StreamingResponseBody> exportRecommendations(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) Market market,
+            @RequestParam(required = false) RecommendationStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        StreamingResponseBody body = outputStream ->
+                exportService.export(format, market, status, fromDate, toDate, outputStream);
+        String filename = "recommendations-" + LocalDate.now() + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream Recommendation Changes", description = "Server-sent events for created, updated, status-changed and deleted recommendations. Reconnect with Last-Event-ID to resume; a 'reset' event means the client must refetch")
+    public SseEmitter streamRecommendations(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Market market) {
+        return streamHub.subscribe(lastEventId, market);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete Recommendation", description = "Delete a recommendation (Admin only)")
     public ResponseEntity<ApiResponse<Void>> deleteRecommendation(@PathVariable Long id) {
         recommendationService.deleteRecommendation(id);
         return ResponseEntity.ok(ApiResponse.success("Recommendation deleted successfully", null));
     }
+
+    private long lastModified(RecommendationResponse response) {
+        return response.getUpdatedAt() == null ? -1
+                : response.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private String batchMessage(String action, RecommendationBatchResponse response) {
+        return String.format("Batch processed: %d %s, %d failed", response.getSucceeded(), action, response.getFailed());
+    }
 }
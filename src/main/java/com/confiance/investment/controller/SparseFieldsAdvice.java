@@ -0,0 +1,52 @@
+package com.confiance.investment.controller;
+
+import com.confiance.investment.dto.RecommendationResponse;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Applies the optional ?fields=id,tickerSymbol,... parameter to every RecommendationResponse
+ * in the body. The id is always kept.
+ */
+@RestControllerAdvice(assignableTypes = RecommendationController.class)
+public class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    public static final String FIELDS_PARAM = "fields";
+    public static final String FIELDS_DESCRIPTION =
+            "Comma-separated recommendation properties to return, e.g. id,tickerSymbol,entryPrice,targetPrice";
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        String fields = servletRequest.getServletRequest().getParameter(FIELDS_PARAM);
+        if (!StringUtils.hasText(fields)) {
+            return;
+        }
+
+        Set<String> properties = new HashSet<>();
+        for (String field : StringUtils.commaDelimitedListToSet(fields)) {
+            if (StringUtils.hasText(field)) {
+                properties.add(field.trim());
+            }
+        }
+        properties.add("id");
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .addFilter(RecommendationResponse.FIELD_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(properties)));
+    }
+}
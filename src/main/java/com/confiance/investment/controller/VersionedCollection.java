@@ -0,0 +1,18 @@
+package com.confiance.investment.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a list endpoint whose response only changes when some recommendation is written.
+ * Such endpoints get the collection version as ETag, and a matching If-None-Match is
+ * answered with 304 before the handler runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface VersionedCollection {
+}
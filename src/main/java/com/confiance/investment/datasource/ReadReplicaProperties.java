@@ -0,0 +1,47 @@
+package com.confiance.investment.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "investment.datasource.read-replicas")
+public class ReadReplicaProperties {
+
+    // Off: spring.datasource is the only DataSource, exactly as without this feature
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Replicas further behind than this stop receiving reads until they catch up
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // After a user's write, that user's reads stay on the primary for this long
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    // Redis key prefix of the per-user read-your-writes flags, shared by all instances
+    private String readYourWritesKeyPrefix = "investment:read-your-writes:";
+
+    private LagCheck lagCheck = LagCheck.SHOW_REPLICA_STATUS;
+
+    private int maximumPoolSize = 10;
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        // Default to spring.datasource credentials when unset
+        private String username;
+        private String password;
+    }
+
+    public enum LagCheck {
+        // MySQL SHOW REPLICA STATUS, Seconds_Behind_Source
+        SHOW_REPLICA_STATUS,
+        // Connectivity only, for databases without replication status (local H2)
+        NONE
+    }
+}
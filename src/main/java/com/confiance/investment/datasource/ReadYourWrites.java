@@ -0,0 +1,49 @@
+package com.confiance.investment.datasource;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Per-request routing flags, kept as request attributes so they never leak into pooled
+ * scheduler or listener threads. Outside a request neither flag is ever set.
+ */
+public final class ReadYourWrites {
+
+    private static final String PINNED = ReadYourWrites.class.getName() + ".PINNED";
+    private static final String WROTE = ReadYourWrites.class.getName() + ".WROTE";
+
+    private ReadYourWrites() {
+    }
+
+    public static void pinToPrimary() {
+        set(PINNED);
+    }
+
+    /**
+     * True when this request's user wrote recently, or this request already wrote, so a
+     * replica might not show the change yet.
+     */
+    public static boolean isPinnedToPrimary() {
+        return isSet(PINNED) || isSet(WROTE);
+    }
+
+    static void recordWrite() {
+        set(WROTE);
+    }
+
+    static boolean hasWritten() {
+        return isSet(WROTE);
+    }
+
+    private static void set(String name) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(name, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static boolean isSet(String name) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+}
@@ -0,0 +1,91 @@
+package com.confiance.investment.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Keeps a user's reads on the primary for read-your-writes-window after any request of
+ * theirs wrote to it, so they never see a replica that has not caught up with their own
+ * change. Users are identified by the authenticated principal, falling back to the
+ * X-User-Id header. Anonymous reads always go to a replica.
+ * <p>
+ * The flag lives in Redis with the window as TTL, so it holds whichever instance serves
+ * the next read. A local copy answers for writes made through this instance without a
+ * Redis round trip. If Redis cannot be asked, the read is pinned to be safe.
+ */
+@Slf4j
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private static final String USER_ID_HEADER = "X-User-Id";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final Duration window;
+    private final Cache<String, Boolean> localWriters;
+
+    public ReadYourWritesInterceptor(ReadReplicaProperties properties, StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = properties.getReadYourWritesKeyPrefix();
+        this.window = properties.getReadYourWritesWindow();
+        this.localWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String user = userKey(request);
+        if (user != null && wroteRecently(user)) {
+            ReadYourWrites.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (ReadYourWrites.hasWritten()) {
+            String user = userKey(request);
+            if (user != null) {
+                localWriters.put(user, Boolean.TRUE);
+                try {
+                    redisTemplate.opsForValue().set(keyPrefix + user, "1", window);
+                } catch (RuntimeException e) {
+                    log.warn("Could not share the read-your-writes flag of {}; other instances may serve it from a replica",
+                            user, e);
+                }
+            }
+        }
+    }
+
+    private boolean wroteRecently(String user) {
+        if (localWriters.getIfPresent(user) != null) {
+            return true;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(keyPrefix + user));
+        } catch (RuntimeException e) {
+            log.debug("Could not read the read-your-writes flag of {}; reading from the primary", user, e);
+            return true;
+        }
+    }
+
+    private static String userKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        String userId = request.getHeader(USER_ID_HEADER);
+        return userId != null && !userId.isBlank() ? "header:" + userId : null;
+    }
+}
@@ -0,0 +1,153 @@
+package com.confiance.investment.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Owns the replica pools and decides which one may serve reads. A scheduled check marks a
+ * replica down when it cannot be reached or lags more than max-lag. Reads then go to the
+ * healthy replica with the fewest active connections. Also the replicaHealthMonitor
+ * health component. That stays UP with per-replica details, because reads fall back to the
+ * primary and a lagging replica must not fail the container health check.
+ */
+@Slf4j
+public class ReplicaHealthMonitor implements HealthIndicator, Closeable {
+
+    private final List<ReplicaState> replicas;
+    private final ReadReplicaProperties properties;
+    private final AtomicInteger nextStart = new AtomicInteger();
+
+    public ReplicaHealthMonitor(Map<String, HikariDataSource> replicas, ReadReplicaProperties properties) {
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new ReplicaState(entry.getKey(), entry.getValue()))
+                .toList();
+        this.properties = properties;
+    }
+
+    Map<Object, Object> targets() {
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        replicas.forEach(replica -> targets.put(replica.name, replica.dataSource));
+        return targets;
+    }
+
+    /**
+     * Name of the replica to read from, or null when none is healthy.
+     */
+    String pick() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        // Rotate the starting point so ties spread across replicas
+        int start = Math.floorMod(nextStart.getAndIncrement(), size);
+        ReplicaState best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            ReplicaState replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            int active = replica.dataSource.getHikariPoolMXBean() != null
+                    ? replica.dataSource.getHikariPoolMXBean().getActiveConnections() : 0;
+            if (active < bestActive) {
+                best = replica;
+                bestActive = active;
+            }
+        }
+        return best != null ? best.name : null;
+    }
+
+    @Scheduled(fixedDelayString = "${investment.datasource.read-replicas.health-check-interval-ms:5000}", initialDelay = 0)
+    public void check() {
+        for (ReplicaState replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try {
+                replica.lagSeconds = measureLag(replica.dataSource);
+                replica.error = null;
+                replica.healthy = replica.lagSeconds == null || replica.lagSeconds <= properties.getMaxLag().toSeconds();
+                if (!replica.healthy) {
+                    replica.error = "lag " + replica.lagSeconds + "s exceeds " + properties.getMaxLag().toSeconds() + "s";
+                }
+            } catch (RuntimeException | SQLException e) {
+                replica.healthy = false;
+                replica.error = e.getMessage();
+            }
+            if (wasHealthy != replica.healthy) {
+                if (replica.healthy) {
+                    log.info("Replica {} is serving reads again", replica.name);
+                } else {
+                    log.warn("Replica {} removed from reads: {}", replica.name, replica.error);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up()
+                .withDetail("healthyReplicas", replicas.stream().filter(replica -> replica.healthy).count());
+        for (ReplicaState replica : replicas) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("status", replica.healthy ? "UP" : "DOWN");
+            if (replica.lagSeconds != null) {
+                details.put("lagSeconds", replica.lagSeconds);
+            }
+            if (replica.error != null) {
+                details.put("error", replica.error);
+            }
+            builder.withDetail(replica.name, details);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private Long measureLag(HikariDataSource dataSource) throws SQLException {
+        if (properties.getLagCheck() == ReadReplicaProperties.LagCheck.NONE) {
+            try (Connection connection = dataSource.getConnection()) {
+                if (!connection.isValid(2)) {
+                    throw new SQLException("connection is not valid");
+                }
+            }
+            return null;
+        }
+        List<Map<String, Object>> status = new JdbcTemplate(dataSource).queryForList("SHOW REPLICA STATUS");
+        if (status.isEmpty()) {
+            throw new IllegalStateException("not configured as a replica");
+        }
+        Object lag = status.get(0).get("Seconds_Behind_Source");
+        if (lag == null) {
+            throw new IllegalStateException("replication is not running");
+        }
+        return ((Number) lag).longValue();
+    }
+
+    private static final class ReplicaState {
+        final String name;
+        final HikariDataSource dataSource;
+        // Down until the first check has passed
+        volatile boolean healthy;
+        volatile Long lagSeconds;
+        volatile String error;
+
+        ReplicaState(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.confiance.investment.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ * Read-only here means @Transactional(readOnly = true), including Spring Data's own
+ * read methods. The routing target sits behind a lazy proxy. Transaction managers fetch
+ * their connection before the read-only flag is published, so the real connection is
+ * only chosen at the first statement.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, ReplicaHealthMonitor monitor) {
+        this.primary = primary;
+        Router router = new Router(monitor);
+        Map<Object, Object> targets = monitor.targets();
+        targets.put(PRIMARY, primary);
+        router.setTargetDataSources(targets);
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public void close() {
+        primary.close();
+    }
+
+    private static final class Router extends AbstractRoutingDataSource {
+
+        private final ReplicaHealthMonitor monitor;
+
+        Router(ReplicaHealthMonitor monitor) {
+            this.monitor = monitor;
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                    ReadYourWrites.recordWrite();
+                }
+                return PRIMARY;
+            }
+            if (ReadYourWrites.isPinnedToPrimary()) {
+                return PRIMARY;
+            }
+            String replica = monitor.pick();
+            return replica != null ? replica : PRIMARY;
+        }
+    }
+}
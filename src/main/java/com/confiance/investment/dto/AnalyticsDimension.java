@@ -0,0 +1,7 @@
+package com.confiance.investment.dto;
+
+public enum AnalyticsDimension {
+    MARKET,
+    TRADE_TYPE,
+    MONTH
+}
@@ -0,0 +1,23 @@
+package com.confiance.investment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestResponse {
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private BigDecimal initialCapital;
+    private int recommendationsLoaded;
+    private List<BacktestScenarioResult> scenarios;
+    private long elapsedMs;
+}
@@ -0,0 +1,43 @@
+package com.confiance.investment.dto;
+
+import com.confiance.common.enums.Market;
+import com.confiance.investment.backtest.BacktestStrategy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestScenarioResult {
+
+    private Market market; // null for the combined portfolio across all requested markets
+    private BacktestStrategy strategy;
+
+    private int trades;
+    private int closedTrades;
+    private int openTrades;     // no recorded exit yet, carried at cost
+    private int skippedTrades;  // sell price without a usable exit date, or no cash left
+    private int winningTrades;
+    private BigDecimal winRate;
+
+    // Every call gets 1/maxConcurrentPositions of equity at entry
+    private int maxConcurrentPositions;
+
+    private BigDecimal startEquity;
+    private BigDecimal endEquity;
+    private BigDecimal totalReturnPercentage;
+    private BigDecimal cagrPercentage;
+    private BigDecimal maxDrawdownPercentage;
+    private LocalDate maxDrawdownPeakDate;
+    private LocalDate maxDrawdownTroughDate;
+
+    // One point per day on which a position was opened or closed
+    private List<EquityPoint> equityCurve;
+}
@@ -0,0 +1,20 @@
+package com.confiance.investment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquityPoint {
+    private LocalDate date;
+    private BigDecimal equity;
+    // Percentage below the running peak, 0 at a new high
+    private BigDecimal drawdownPercentage;
+}
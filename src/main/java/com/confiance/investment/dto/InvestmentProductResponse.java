@@ -0,0 +1,28 @@
+package com.confiance.investment.dto;
+
+import com.confiance.common.enums.InvestmentStatus;
+import com.confiance.common.enums.InvestmentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvestmentProductResponse {
+    private Long id;
+    private String name;
+    private String description;
+    private InvestmentType type;
+    private BigDecimal expectedReturns;
+    private BigDecimal minInvestment;
+    private BigDecimal maxInvestment;
+    private Integer lockInPeriodMonths;
+    private InvestmentStatus status;
+    private LocalDateTime createdAt;
+}
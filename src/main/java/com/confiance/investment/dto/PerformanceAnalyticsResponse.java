@@ -0,0 +1,23 @@
+package com.confiance.investment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PerformanceAnalyticsResponse {
+
+    private AnalyticsDimension groupBy;
+    private PerformanceStats overall;
+    private List<PerformanceStats> groups;
+
+    // When the underlying summary was last rebuilt; null if it has never been built
+    private LocalDateTime refreshedAt;
+}
@@ -0,0 +1,30 @@
+package com.confiance.investment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PerformanceStats {
+
+    // Market name, trade type name or "yyyy-MM" depending on the grouping; "ALL" for the overall row
+    private String key;
+    private long totalRecommendations;
+    private long closedRecommendations;
+
+    // Percentage of closed recommendations with a positive realized return
+    private BigDecimal hitRate;
+    private BigDecimal averageReturnPercentage;
+    private BigDecimal averageHoldingPeriodDays;
+    private BigDecimal averageRiskRewardRatio;
+
+    // Counts per risk-reward bucket: "<1", "1-2", "2-3", "3+"
+    private Map<String, Long> riskRewardDistribution;
+}
@@ -0,0 +1,37 @@
+package com.confiance.investment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationBatchItemResult {
+
+    // Position of the item in the request list
+    private int index;
+    private boolean success;
+    private RecommendationResponse recommendation;
+    private List<String> errors;
+
+    public static RecommendationBatchItemResult success(int index, RecommendationResponse recommendation) {
+        return RecommendationBatchItemResult.builder()
+                .index(index)
+                .success(true)
+                .recommendation(recommendation)
+                .build();
+    }
+
+    public static RecommendationBatchItemResult failure(int index, List<String> errors) {
+        return RecommendationBatchItemResult.builder()
+                .index(index)
+                .success(false)
+                .errors(errors)
+                .build();
+    }
+}
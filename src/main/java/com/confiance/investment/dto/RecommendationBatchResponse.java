@@ -0,0 +1,30 @@
+package com.confiance.investment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationBatchResponse {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<RecommendationBatchItemResult> results;
+
+    public static RecommendationBatchResponse of(List<RecommendationBatchItemResult> results) {
+        int succeeded = (int) results.stream().filter(RecommendationBatchItemResult::isSuccess).count();
+        return RecommendationBatchResponse.builder()
+                .total(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
+}
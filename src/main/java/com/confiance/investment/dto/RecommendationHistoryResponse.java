@@ -0,0 +1,24 @@
+package com.confiance.investment.dto;
+
+import com.confiance.investment.event.RecommendationChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationHistoryResponse {
+    private Long id;
+    private Long recommendationId;
+    private RecommendationChangeType changeType;
+    private List<String> changedFields;
+    private RecommendationResponse before; // null for CREATED
+    private RecommendationResponse after;  // null for DELETED
+    private Instant occurredAt;
+}
@@ -3,6 +3,7 @@ package com.confiance.investment.dto;
 import com.confiance.common.enums.Market;
 import com.confiance.common.enums.RecommendationStatus;
 import com.confiance.common.enums.RecommendationType;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,8 +17,12 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(RecommendationResponse.FIELD_FILTER)
 public class RecommendationResponse {
 
+    // Filter id used for ?fields= sparse field sets, see SparseFieldsAdvice
+    public static final String FIELD_FILTER = "recommendationFields";
+
     private Long id;
     private Market market;
     private String currency;
@@ -38,7 +43,7 @@ public class RecommendationResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
-    // Calculated fields for frontend display
+    // Calculated fields for frontend display, persisted on the entity at write time
     private BigDecimal potentialReturn;
     private BigDecimal potentialRisk;
     private BigDecimal potentialReturnPercentage;
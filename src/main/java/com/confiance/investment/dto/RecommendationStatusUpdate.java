@@ -0,0 +1,29 @@
+package com.confiance.investment.dto;
+
+import com.confiance.common.enums.RecommendationStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationStatusUpdate {
+
+    @NotNull(message = "Recommendation id is required")
+    private Long id;
+
+    private RecommendationStatus status;
+
+    @Positive(message = "Sell price must be positive")
+    private BigDecimal sellPrice;
+
+    private LocalDate exitDate;
+}
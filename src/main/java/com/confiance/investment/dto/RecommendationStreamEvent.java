@@ -0,0 +1,26 @@
+package com.confiance.investment.dto;
+
+import com.confiance.common.enums.Market;
+import com.confiance.common.enums.RecommendationStatus;
+import com.confiance.investment.stream.RecommendationStreamEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationStreamEvent {
+    private Long id; // null when Redis was unavailable and the event was only delivered locally
+    private RecommendationStreamEventType type;
+    private Long recommendationId;
+    private Market market;
+    private RecommendationStatus status;
+    private RecommendationStatus previousStatus;
+    private RecommendationResponse recommendation; // null for DELETED
+    private Instant occurredAt;
+}
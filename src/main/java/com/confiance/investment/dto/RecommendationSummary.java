@@ -0,0 +1,47 @@
+package com.confiance.investment.dto;
+
+import com.confiance.common.enums.Market;
+import com.confiance.common.enums.RecommendationStatus;
+import com.confiance.common.enums.RecommendationType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * List-view projection of Recommendation, selected with a constructor expression so list
+ * reads never load managed entities. Carries every field of RecommendationResponse that is
+ * stored, so list items look the same as single reads; ?fields= trims the response.
+ * Field order is the constructor order used by RecommendationRepositoryCustomImpl.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationSummary {
+
+    private Long id;
+    private Market market;
+    private String currency;
+    private String tickerSymbol;
+    private String companyName;
+    private RecommendationType tradeType;
+    private LocalDate recommendationDate;
+    private BigDecimal entryPrice;
+    private BigDecimal targetPrice;
+    private BigDecimal stopLoss;
+    private BigDecimal riskRewardRatio;
+    private BigDecimal potentialReturn;
+    private BigDecimal potentialReturnPercentage;
+    private BigDecimal potentialRisk;
+    private BigDecimal sellPrice;
+    private LocalDate exitDate;
+    private Integer holdingPeriodDays;
+    private RecommendationStatus status;
+    private String remarks;
+    private Long createdByUserId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
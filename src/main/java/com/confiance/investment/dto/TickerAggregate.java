@@ -0,0 +1,25 @@
+package com.confiance.investment.dto;
+
+import com.confiance.common.enums.Market;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Per ticker and market rollup loaded into the search index. Field order is the
+ * constructor order used by RecommendationRepository.aggregateTickers.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TickerAggregate {
+
+    private String tickerSymbol;
+    private Market market;
+    private String companyName;
+    private Long recommendationCount;
+    private Long openRecommendationCount;
+    private LocalDate latestRecommendationDate;
+}
@@ -0,0 +1,25 @@
+package com.confiance.investment.dto;
+
+import com.confiance.common.enums.Market;
+import com.confiance.investment.search.MatchType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TickerSuggestion {
+    private String tickerSymbol;
+    private Market market;
+    private String companyName;
+    private MatchType matchType;
+    private double score;
+    private long recommendationCount;
+    private long openRecommendationCount;
+    private LocalDate latestRecommendationDate;
+}
@@ -0,0 +1,134 @@
+package com.confiance.investment.entity;
+
+import com.confiance.common.enums.Market;
+import com.confiance.common.enums.RecommendationStatus;
+import com.confiance.common.enums.RecommendationType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Closed recommendation moved out of the live table by RecommendationArchiver. Columns
+ * and attribute names mirror Recommendation, so the same Specifications and the same
+ * INSERT ... SELECT column list work on both. Rows keep their original id and are never
+ * updated here.
+ */
+@Entity
+@Immutable
+@Table(name = "recommendations_archive", indexes = {
+        @Index(name = "idx_archive_ticker_symbol", columnList = "tickerSymbol"),
+        @Index(name = "idx_archive_date_id", columnList = "recommendationDate, id"),
+        @Index(name = "idx_archive_market_date_id", columnList = "market, recommendationDate, id"),
+        @Index(name = "idx_archive_status_date_id", columnList = "status, recommendationDate, id"),
+        @Index(name = "idx_archive_archived_at", columnList = "archivedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedRecommendation {
+
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Market market;
+
+    @Column(nullable = false, length = 10)
+    private String currency;
+
+    @Column(nullable = false, length = 20)
+    private String tickerSymbol;
+
+    private String companyName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecommendationType tradeType;
+
+    @Column(nullable = false)
+    private LocalDate recommendationDate;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal entryPrice;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal targetPrice;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal stopLoss;
+
+    @Column(precision = 5, scale = 2)
+    private BigDecimal riskRewardRatio;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal potentialReturn;
+
+    @Column(precision = 9, scale = 2)
+    private BigDecimal potentialReturnPercentage;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal potentialRisk;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal sellPrice;
+
+    private LocalDate exitDate;
+
+    private Integer holdingPeriodDays;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecommendationStatus status;
+
+    @Column(length = 1000)
+    private String remarks;
+
+    private Long createdByUserId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * Detached Recommendation with the same values, for code that only knows the live type
+     * (mapper, export writers). Never persist it.
+     */
+    public Recommendation toRecommendation() {
+        return Recommendation.builder()
+                .id(id)
+                .market(market)
+                .currency(currency)
+                .tickerSymbol(tickerSymbol)
+                .companyName(companyName)
+                .tradeType(tradeType)
+                .recommendationDate(recommendationDate)
+                .entryPrice(entryPrice)
+                .targetPrice(targetPrice)
+                .stopLoss(stopLoss)
+                .riskRewardRatio(riskRewardRatio)
+                .potentialReturn(potentialReturn)
+                .potentialReturnPercentage(potentialReturnPercentage)
+                .potentialRisk(potentialRisk)
+                .sellPrice(sellPrice)
+                .exitDate(exitDate)
+                .holdingPeriodDays(holdingPeriodDays)
+                .status(status)
+                .remarks(remarks)
+                .createdByUserId(createdByUserId)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
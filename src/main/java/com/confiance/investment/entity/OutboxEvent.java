@@ -0,0 +1,53 @@
+package com.confiance.investment.entity;
+
+import com.confiance.investment.event.RecommendationChangeType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Recommendation change waiting to be relayed to the Redis stream. Written in the same
+ * transaction as the change itself by RecommendationOutboxWriter.
+ */
+@Entity
+@Table(name = "recommendation_outbox", indexes = {
+        @Index(name = "idx_outbox_published_id", columnList = "publishedAt, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    // Pooled sequence so batch writes go out as JDBC batches
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recommendation_outbox_seq")
+    @SequenceGenerator(name = "recommendation_outbox_seq", sequenceName = "recommendation_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long recommendationId;
+
+    // Per-recommendation change version, increasing in commit order; ids are not, since
+    // every instance hands them out from its own pooled block
+    @Column(nullable = false)
+    private Long recommendationVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RecommendationChangeType eventType;
+
+    // RecommendationChangedEvent as JSON
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    // Null until the relay has added the event to the stream
+    private Instant publishedAt;
+}
@@ -17,11 +17,16 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+// Composite indexes follow the (equality filters, recommendationDate, id) shape of the list
+// queries so MySQL can read rows in sort order instead of filesorting
 @Table(name = "recommendations", indexes = {
         @Index(name = "idx_ticker_symbol", columnList = "tickerSymbol"),
-        @Index(name = "idx_market", columnList = "market"),
-        @Index(name = "idx_status", columnList = "status"),
-        @Index(name = "idx_recommendation_date", columnList = "recommendationDate")
+        @Index(name = "idx_status_date_id", columnList = "status, recommendationDate, id"),
+        @Index(name = "idx_market_date_id", columnList = "market, recommendationDate, id"),
+        @Index(name = "idx_market_status_date_id", columnList = "market, status, recommendationDate, id"),
+        @Index(name = "idx_recommendation_date_id", columnList = "recommendationDate, id"),
+        @Index(name = "idx_status_return_pct", columnList = "status, potentialReturnPercentage"),
+        @Index(name = "idx_status_risk_reward", columnList = "status, riskRewardRatio")
 })
 @Data
 @Builder
@@ -30,8 +35,11 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class Recommendation {
 
+    // Pooled sequence (a table on MySQL) instead of IDENTITY so Hibernate can batch inserts;
+    // allocationSize must match the increment used by RecommendationSequenceAligner
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recommendation_seq")
+    @SequenceGenerator(name = "recommendation_seq", sequenceName = "recommendations_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -66,6 +74,18 @@ public class Recommendation {
     @Column(precision = 5, scale = 2)
     private BigDecimal riskRewardRatio;
 
+    // Calculated field: targetPrice - entryPrice
+    @Column(precision = 19, scale = 2)
+    private BigDecimal potentialReturn;
+
+    // Calculated field: (targetPrice - entryPrice) / entryPrice * 100
+    @Column(precision = 9, scale = 2)
+    private BigDecimal potentialReturnPercentage;
+
+    // Calculated field: entryPrice - stopLoss
+    @Column(precision = 19, scale = 2)
+    private BigDecimal potentialRisk;
+
     @Column(precision = 19, scale = 2)
     private BigDecimal sellPrice;
 
@@ -104,6 +124,17 @@ public class Recommendation {
             }
         }
 
+        // Calculate potential return and risk once here so reads are plain copies
+        // and they can be sorted/filtered on in SQL
+        if (targetPrice != null && entryPrice != null) {
+            this.potentialReturn = targetPrice.subtract(entryPrice);
+            this.potentialReturnPercentage = potentialReturn.divide(entryPrice, 4, java.math.RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(100)).setScale(2, java.math.RoundingMode.HALF_UP);
+        }
+        if (entryPrice != null && stopLoss != null) {
+            this.potentialRisk = entryPrice.subtract(stopLoss);
+        }
+
         // Calculate holding period if exitDate is set
         if (exitDate != null && recommendationDate != null) {
             this.holdingPeriodDays = (int) java.time.temporal.ChronoUnit.DAYS.between(recommendationDate, exitDate);
@@ -0,0 +1,51 @@
+package com.confiance.investment.entity;
+
+import com.confiance.investment.event.RecommendationChangeType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Append-only change log of recommendations, written behind the request by
+ * RecommendationHistoryRecorder. Snapshots are RecommendationResponse JSON.
+ */
+@Entity
+@Table(name = "recommendation_history", indexes = {
+        @Index(name = "idx_history_recommendation_occurred", columnList = "recommendationId, occurredAt, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationHistory {
+
+    // Pooled sequence so the recorder's flushes go out as JDBC batches
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recommendation_history_seq")
+    @SequenceGenerator(name = "recommendation_history_seq", sequenceName = "recommendation_history_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long recommendationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RecommendationChangeType changeType;
+
+    // Comma-separated field names that differ between before and after
+    @Column(length = 1000)
+    private String changedFields;
+
+    @Column(columnDefinition = "TEXT")
+    private String beforeSnapshot;
+
+    @Column(columnDefinition = "TEXT")
+    private String afterSnapshot;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+}
@@ -0,0 +1,71 @@
+package com.confiance.investment.entity;
+
+import com.confiance.common.enums.Market;
+import com.confiance.common.enums.RecommendationType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized rollup of recommendations per (market, tradeType, month), rebuilt by
+ * PerformanceSummaryRefresher. Holds sums and counts rather than averages so rows can be
+ * re-aggregated along any dimension.
+ */
+@Entity
+@Table(name = "recommendation_performance_summary")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationPerformanceSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Market market;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecommendationType tradeType;
+
+    // First day of the recommendationDate month
+    @Column(nullable = false)
+    private LocalDate periodMonth;
+
+    private long totalCount;
+
+    // Recommendations with a sellPrice, i.e. a realized outcome
+    private long closedCount;
+
+    // Closed recommendations with a positive realized return
+    private long hitCount;
+
+    // Sum of realized return % over closed recommendations (direction-aware for short calls)
+    @Column(precision = 19, scale = 4)
+    private BigDecimal sumReturnPercentage;
+
+    private long holdingCount;
+    private long sumHoldingDays;
+
+    private long riskRewardCount;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal sumRiskReward;
+
+    // Risk-reward distribution buckets: < 1, [1, 2), [2, 3), >= 3
+    private long rrBucketBelowOne;
+    private long rrBucketOneToTwo;
+    private long rrBucketTwoToThree;
+    private long rrBucketThreePlus;
+
+    private LocalDateTime refreshedAt;
+}
@@ -0,0 +1,26 @@
+package com.confiance.investment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change counter per recommendation, stamped on its outbox rows by RecommendationOutboxWriter.
+ * Bumping it locks the row until commit, so versions of one recommendation are handed out
+ * in commit order even when the changes are made on different instances.
+ */
+@Entity
+@Table(name = "recommendation_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationVersion {
+
+    @Id
+    private Long recommendationId;
+
+    // Version of the last change; CREATED is always 1 and has no row here
+    @Column(nullable = false)
+    private Long version;
+}
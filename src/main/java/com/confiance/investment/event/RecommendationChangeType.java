@@ -0,0 +1,7 @@
+package com.confiance.investment.event;
+
+public enum RecommendationChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,32 @@
+package com.confiance.investment.event;
+
+import com.confiance.investment.dto.RecommendationResponse;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Published by RecommendationService for every write. Listeners that must only see
+ * committed state should use @TransactionalEventListener(phase = AFTER_COMMIT).
+ */
+@Value
+public class RecommendationChangedEvent {
+
+    RecommendationChangeType type;
+    Long recommendationId;
+    RecommendationResponse before; // null for CREATED
+    RecommendationResponse after;  // null for DELETED
+    Instant occurredAt;
+
+    public static RecommendationChangedEvent created(RecommendationResponse after) {
+        return new RecommendationChangedEvent(RecommendationChangeType.CREATED, after.getId(), null, after, Instant.now());
+    }
+
+    public static RecommendationChangedEvent updated(RecommendationResponse before, RecommendationResponse after) {
+        return new RecommendationChangedEvent(RecommendationChangeType.UPDATED, after.getId(), before, after, Instant.now());
+    }
+
+    public static RecommendationChangedEvent deleted(RecommendationResponse before) {
+        return new RecommendationChangedEvent(RecommendationChangeType.DELETED, before.getId(), before, null, Instant.now());
+    }
+}
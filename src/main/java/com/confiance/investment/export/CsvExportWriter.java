@@ -0,0 +1,101 @@
+package com.confiance.investment.export;
+
+import com.confiance.investment.entity.Recommendation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV with a header row. Only text columns can contain separators, so only
+ * those go through quoting.
+ */
+public class CsvExportWriter implements RecommendationExportWriter {
+
+    private static final String HEADER = "id,market,currency,tickerSymbol,companyName,tradeType,recommendationDate,"
+            + "entryPrice,targetPrice,stopLoss,riskRewardRatio,potentialReturn,potentialReturnPercentage,potentialRisk,"
+            + "sellPrice,exitDate,holdingPeriodDays,status,remarks,createdByUserId,createdAt,updatedAt";
+
+    private final Writer writer;
+
+    public CsvExportWriter(OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 16 * 1024);
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(Recommendation r) throws IOException {
+        plain(r.getId()).comma();
+        plain(r.getMarket()).comma();
+        text(r.getCurrency()).comma();
+        text(r.getTickerSymbol()).comma();
+        text(r.getCompanyName()).comma();
+        plain(r.getTradeType()).comma();
+        plain(r.getRecommendationDate()).comma();
+        number(r.getEntryPrice()).comma();
+        number(r.getTargetPrice()).comma();
+        number(r.getStopLoss()).comma();
+        number(r.getRiskRewardRatio()).comma();
+        number(r.getPotentialReturn()).comma();
+        number(r.getPotentialReturnPercentage()).comma();
+        number(r.getPotentialRisk()).comma();
+        number(r.getSellPrice()).comma();
+        plain(r.getExitDate()).comma();
+        plain(r.getHoldingPeriodDays()).comma();
+        plain(r.getStatus()).comma();
+        text(r.getRemarks()).comma();
+        plain(r.getCreatedByUserId()).comma();
+        plain(r.getCreatedAt()).comma();
+        plain(r.getUpdatedAt());
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Flush only: the servlet container owns the response stream
+        writer.flush();
+    }
+
+    private CsvExportWriter plain(Object value) throws IOException {
+        if (value != null) {
+            writer.write(value.toString());
+        }
+        return this;
+    }
+
+    private CsvExportWriter number(BigDecimal value) throws IOException {
+        if (value != null) {
+            writer.write(value.toPlainString());
+        }
+        return this;
+    }
+
+    private CsvExportWriter text(String value) throws IOException {
+        if (value == null) {
+            return this;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return this;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+        return this;
+    }
+
+    private void comma() throws IOException {
+        writer.write(',');
+    }
+}
@@ -0,0 +1,89 @@
+package com.confiance.investment.export;
+
+import com.confiance.investment.entity.Recommendation;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One JSON object per line, with the same field names as RecommendationResponse.
+ */
+public class NdjsonExportWriter implements RecommendationExportWriter {
+
+    private final JsonGenerator generator;
+
+    public NdjsonExportWriter(JsonFactory jsonFactory, OutputStream outputStream) throws IOException {
+        this.generator = jsonFactory.createGenerator(outputStream, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(new SerializedString("\n"));
+    }
+
+    @Override
+    public void write(Recommendation r) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", r.getId());
+        writeString("market", r.getMarket());
+        writeString("currency", r.getCurrency());
+        writeString("tickerSymbol", r.getTickerSymbol());
+        writeString("companyName", r.getCompanyName());
+        writeString("tradeType", r.getTradeType());
+        writeDate("recommendationDate", r.getRecommendationDate());
+        writeNumber("entryPrice", r.getEntryPrice());
+        writeNumber("targetPrice", r.getTargetPrice());
+        writeNumber("stopLoss", r.getStopLoss());
+        writeNumber("riskRewardRatio", r.getRiskRewardRatio());
+        writeNumber("potentialReturn", r.getPotentialReturn());
+        writeNumber("potentialReturnPercentage", r.getPotentialReturnPercentage());
+        writeNumber("potentialRisk", r.getPotentialRisk());
+        writeNumber("sellPrice", r.getSellPrice());
+        writeDate("exitDate", r.getExitDate());
+        if (r.getHoldingPeriodDays() != null) {
+            generator.writeNumberField("holdingPeriodDays", r.getHoldingPeriodDays());
+        }
+        writeString("status", r.getStatus());
+        writeString("remarks", r.getRemarks());
+        if (r.getCreatedByUserId() != null) {
+            generator.writeNumberField("createdByUserId", r.getCreatedByUserId());
+        }
+        writeDateTime("createdAt", r.getCreatedAt());
+        writeDateTime("updatedAt", r.getUpdatedAt());
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.writeRaw('\n');
+        generator.close();
+    }
+
+    private void writeString(String field, Object value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value.toString());
+        }
+    }
+
+    private void writeNumber(String field, BigDecimal value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    private void writeDate(String field, LocalDate value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value.toString());
+        }
+    }
+
+    private void writeDateTime(String field, LocalDateTime value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value.toString());
+        }
+    }
+}
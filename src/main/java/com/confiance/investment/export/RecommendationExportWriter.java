@@ -0,0 +1,21 @@
+package com.confiance.investment.export;
+
+import com.confiance.investment.entity.Recommendation;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes one recommendation at a time straight to the response stream, without building
+ * response DTOs or buffering the body.
+ */
+public interface RecommendationExportWriter extends Closeable {
+
+    void write(Recommendation recommendation) throws IOException;
+
+    /**
+     * Flushes buffered output without closing the underlying stream.
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,222 @@
+package com.confiance.investment.outbox;
+
+import com.confiance.investment.entity.OutboxEvent;
+import com.confiance.investment.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains recommendation_outbox into a Redis stream. Each batch is locked with
+ * FOR UPDATE SKIP LOCKED, added to the stream in one pipeline and marked published
+ * in the same transaction. A crash or Redis error between the two re-sends the batch,
+ * so delivery is at-least-once: consumers de-duplicate on the eventId field.
+ * <p>
+ * Entries go out in id order, which is only roughly commit order: ids come from pooled
+ * sequence blocks per instance. Consumers that keep recommendation state must order by the
+ * version field instead and drop an entry whose version is not above the last one they
+ * applied for that recommendation.
+ * <p>
+ * Entries are trimmed only once every consumer group has acknowledged them. If a group
+ * falls behind and the stream reaches max-length, the relay pauses. Events then queue
+ * durably in MySQL until the group catches up, rather than being trimmed unread.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${investment.outbox.stream.key:investment:recommendation-outbox}")
+    private String streamKey;
+
+    @Value("${investment.outbox.stream.max-length:100000}")
+    private long maxStreamLength;
+
+    @Value("${investment.outbox.stream.consumer-groups:}")
+    private List<String> consumerGroups;
+
+    @Value("${investment.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${investment.outbox.retention:7d}")
+    private Duration retention;
+
+    private final AtomicLong streamLength = new AtomicLong();
+    private final Counter published;
+    private final Counter publishFailures;
+    private final Counter backpressurePauses;
+
+    public OutboxRelay(OutboxEventRepository outboxRepository, StringRedisTemplate redisTemplate,
+                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("investment.outbox.stream.length", streamLength, AtomicLong::get)
+                .description("Entries in the outbox stream at the last relay run")
+                .register(meterRegistry);
+        this.published = Counter.builder("investment.outbox.published")
+                .description("Outbox events added to the stream")
+                .register(meterRegistry);
+        this.publishFailures = Counter.builder("investment.outbox.publish.failures")
+                .description("Relay batches rolled back because the stream was unavailable")
+                .register(meterRegistry);
+        this.backpressurePauses = Counter.builder("investment.outbox.backpressure")
+                .description("Relay runs skipped because consumers are behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates the configured consumer groups from the start of the stream, so entries are
+     * retained for them even before their first read.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createConsumerGroups() {
+        for (String group : consumerGroups) {
+            try {
+                redisTemplate.opsForStream().createGroup(streamKey, ReadOffset.from("0"), group);
+                log.info("Created consumer group {} on {}", group, streamKey);
+            } catch (RuntimeException e) {
+                if (!String.valueOf(e.getMessage()).contains("BUSYGROUP")) {
+                    log.warn("Could not create consumer group {} on {}", group, streamKey, e);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${investment.outbox.poll-interval-ms:200}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                if (consumersBehind()) {
+                    backpressurePauses.increment();
+                    return;
+                }
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            publishFailures.increment();
+            log.warn("Outbox relay failed; the batch stays unpublished and is retried", e);
+        }
+    }
+
+    /**
+     * Removes stream entries every consumer group has received and acknowledged. With no
+     * groups nobody is owed delivery, so the stream is simply capped at half of max-length.
+     */
+    @Scheduled(fixedDelayString = "${investment.outbox.stream.trim-interval-ms:60000}")
+    public void trimStream() {
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(streamKey))) {
+                return;
+            }
+            StreamInfo.XInfoGroups groups = redisTemplate.opsForStream().groups(streamKey);
+            if (groups.isEmpty()) {
+                redisTemplate.opsForStream().trim(streamKey, maxStreamLength / 2, true);
+                return;
+            }
+            String safeId = null;
+            for (StreamInfo.XInfoGroup group : groups) {
+                String groupFloor = group.lastDeliveredId();
+                if (group.pendingCount() > 0) {
+                    PendingMessagesSummary pending = redisTemplate.opsForStream().pending(streamKey, group.groupName());
+                    groupFloor = pending.minMessageId();
+                }
+                if (safeId == null || compareIds(groupFloor, safeId) < 0) {
+                    safeId = groupFloor;
+                }
+            }
+            String minId = safeId;
+            redisTemplate.execute((RedisCallback<Object>) connection -> connection.execute("XTRIM",
+                    bytes(streamKey), bytes("MINID"), bytes("~"), bytes(minId)));
+        } catch (RuntimeException e) {
+            log.warn("Failed to trim outbox stream {}", streamKey, e);
+        }
+    }
+
+    @Scheduled(cron = "${investment.outbox.cleanup-cron:0 15 * * * *}")
+    public void deletePublished() {
+        Instant cutoff = Instant.now().minus(retention);
+        int deleted;
+        int total = 0;
+        do {
+            deleted = transactionTemplate.execute(status -> outboxRepository.deletePublishedBefore(cutoff, batchSize * 10));
+            total += deleted;
+        } while (deleted == batchSize * 10);
+        if (total > 0) {
+            log.info("Deleted {} published outbox rows older than {}", total, retention);
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxRepository.lockUnpublished(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        byte[] key = bytes(streamKey);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (OutboxEvent event : batch) {
+                connection.streamCommands().xAdd(toRecord(key, event));
+            }
+            return null;
+        });
+        outboxRepository.markPublished(batch.stream().map(OutboxEvent::getId).toList(), Instant.now());
+        published.increment(batch.size());
+        return batch.size();
+    }
+
+    private boolean consumersBehind() {
+        Long length = redisTemplate.opsForStream().size(streamKey);
+        streamLength.set(length != null ? length : 0);
+        return streamLength.get() >= maxStreamLength;
+    }
+
+    private static MapRecord<byte[], byte[], byte[]> toRecord(byte[] key, OutboxEvent event) {
+        Map<byte[], byte[]> fields = new LinkedHashMap<>();
+        fields.put(bytes("eventId"), bytes(String.valueOf(event.getId())));
+        fields.put(bytes("type"), bytes(event.getEventType().name()));
+        fields.put(bytes("recommendationId"), bytes(String.valueOf(event.getRecommendationId())));
+        fields.put(bytes("version"), bytes(String.valueOf(event.getRecommendationVersion())));
+        fields.put(bytes("occurredAt"), bytes(event.getOccurredAt().toString()));
+        fields.put(bytes("payload"), bytes(event.getPayload()));
+        return StreamRecords.newRecord().in(key).ofMap(fields);
+    }
+
+    // Stream ids are "<millis>-<sequence>"
+    private static int compareIds(String a, String b) {
+        String[] left = a.split("-");
+        String[] right = b.split("-");
+        int byTime = Long.compare(Long.parseLong(left[0]), Long.parseLong(right[0]));
+        return byTime != 0 ? byTime : Long.compare(Long.parseLong(left[1]), Long.parseLong(right[1]));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
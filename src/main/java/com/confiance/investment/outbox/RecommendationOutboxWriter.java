@@ -0,0 +1,60 @@
+package com.confiance.investment.outbox;
+
+import com.confiance.investment.entity.OutboxEvent;
+import com.confiance.investment.event.RecommendationChangeType;
+import com.confiance.investment.event.RecommendationChangedEvent;
+import com.confiance.investment.repository.OutboxEventRepository;
+import com.confiance.investment.repository.RecommendationVersionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Adds an outbox row for every recommendation change. BEFORE_COMMIT runs inside the
+ * writing transaction, so the row commits or rolls back with the change and the write
+ * path stays one DB transaction. Nothing here talks to Redis.
+ * <p>
+ * Each row is stamped with the recommendation's next change version. The version row stays
+ * locked until commit, so two changes to one recommendation get versions in commit order
+ * even when different instances write them, while their outbox ids may not be.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecommendationOutboxWriter {
+
+    private final OutboxEventRepository outboxRepository;
+    private final RecommendationVersionRepository versionRepository;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onRecommendationChanged(RecommendationChangedEvent event) {
+        outboxRepository.save(OutboxEvent.builder()
+                .recommendationId(event.getRecommendationId())
+                .recommendationVersion(nextVersion(event))
+                .eventType(event.getType())
+                .payload(toJson(event))
+                .occurredAt(event.getOccurredAt())
+                .build());
+    }
+
+    // Creates need no lock: nothing else can change a recommendation before it is committed
+    private long nextVersion(RecommendationChangedEvent event) {
+        if (event.getType() == RecommendationChangeType.CREATED) {
+            return 1;
+        }
+        versionRepository.increment(event.getRecommendationId());
+        return versionRepository.currentVersion(event.getRecommendationId());
+    }
+
+    private String toJson(RecommendationChangedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            // Failing here rolls the change back rather than losing its event
+            throw new IllegalStateException("Could not serialize change of recommendation " + event.getRecommendationId(), e);
+        }
+    }
+}
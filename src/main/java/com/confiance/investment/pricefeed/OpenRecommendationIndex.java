@@ -0,0 +1,79 @@
+package com.confiance.investment.pricefeed;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory view of open recommendations keyed by ticker, holding only what tick
+ * evaluation needs as primitives. A tick costs one map lookup plus a constant-time check
+ * per open recommendation on that ticker.
+ */
+public class OpenRecommendationIndex {
+
+    private final ConcurrentMap<String, ConcurrentMap<Long, Watch>> byTicker = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, String> tickerById = new ConcurrentHashMap<>();
+
+    public void watch(Long id, String tickerSymbol, BigDecimal entryPrice, BigDecimal targetPrice, BigDecimal stopLoss) {
+        unwatch(id);
+        if (targetPrice == null && stopLoss == null) {
+            return;
+        }
+
+        // Short calls have the target below entry (or the stop above it)
+        boolean isShort = entryPrice != null && (targetPrice != null
+                ? targetPrice.compareTo(entryPrice) < 0
+                : stopLoss.compareTo(entryPrice) > 0);
+        Watch watch = new Watch(id,
+                targetPrice != null ? targetPrice.doubleValue() : Double.NaN,
+                stopLoss != null ? stopLoss.doubleValue() : Double.NaN,
+                isShort);
+        byTicker.computeIfAbsent(tickerSymbol, ticker -> new ConcurrentHashMap<>()).put(id, watch);
+        tickerById.put(id, tickerSymbol);
+    }
+
+    public void unwatch(Long id) {
+        String tickerSymbol = tickerById.remove(id);
+        if (tickerSymbol != null) {
+            Map<Long, Watch> watches = byTicker.get(tickerSymbol);
+            if (watches != null) {
+                watches.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Returns the crossings caused by this tick. A crossed recommendation is removed from
+     * the index, so concurrent or repeated ticks report it only once.
+     */
+    public void evaluate(PriceTick tick, CrossingHandler handler) {
+        Map<Long, Watch> watches = byTicker.get(tick.getTickerSymbol());
+        if (watches == null || watches.isEmpty()) {
+            return;
+        }
+
+        double price = tick.getPrice();
+        for (Watch watch : watches.values()) {
+            // Comparisons against NaN (no target / no stop) are always false
+            boolean targetHit = watch.isShort() ? price <= watch.target() : price >= watch.target();
+            boolean stopHit = watch.isShort() ? price >= watch.stop() : price <= watch.stop();
+            if ((targetHit || stopHit) && watches.remove(watch.id(), watch)) {
+                tickerById.remove(watch.id());
+                handler.onCrossing(watch.id(), targetHit, tick);
+            }
+        }
+    }
+
+    public int size() {
+        return tickerById.size();
+    }
+
+    @FunctionalInterface
+    public interface CrossingHandler {
+        void onCrossing(Long recommendationId, boolean targetHit, PriceTick tick);
+    }
+
+    private record Watch(Long id, double target, double stop, boolean isShort) {
+    }
+}
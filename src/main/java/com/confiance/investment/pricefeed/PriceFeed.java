@@ -0,0 +1,14 @@
+package com.confiance.investment.pricefeed;
+
+import java.util.function.Consumer;
+
+/**
+ * Source of live price ticks. Implementations push ticks to the listener from their own
+ * thread(s) and must tolerate the listener being called concurrently.
+ */
+public interface PriceFeed {
+
+    void start(Consumer<PriceTick> listener);
+
+    void stop();
+}
@@ -0,0 +1,13 @@
+package com.confiance.investment.pricefeed;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+public class PriceTick {
+
+    String tickerSymbol;
+    double price;
+    Instant timestamp;
+}
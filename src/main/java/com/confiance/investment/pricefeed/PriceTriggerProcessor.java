@@ -0,0 +1,155 @@
+package com.confiance.investment.pricefeed;
+
+import com.confiance.common.enums.RecommendationStatus;
+import com.confiance.investment.dto.RecommendationBatchResponse;
+import com.confiance.investment.dto.RecommendationResponse;
+import com.confiance.investment.dto.RecommendationStatusUpdate;
+import com.confiance.investment.entity.Recommendation;
+import com.confiance.investment.event.RecommendationChangedEvent;
+import com.confiance.investment.repository.RecommendationRepository;
+import com.confiance.investment.service.RecommendationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Feeds price ticks through the OpenRecommendationIndex and writes the resulting status
+ * changes in batches, so tick volume never turns into per-tick queries.
+ * <p>
+ * A failed batch is retried on the next flush. An update that has been in maxBatchAttempts
+ * failed batches is then applied on its own, so one bad row cannot hold back the others;
+ * if that fails too it is dropped (investment.price-feed.updates.dropped).
+ */
+@Slf4j
+public class PriceTriggerProcessor {
+
+    private final PriceFeed priceFeed;
+    private final OpenRecommendationIndex index;
+    private final RecommendationRepository recommendationRepository;
+    private final RecommendationService recommendationService;
+    private final RecommendationStatus targetHitStatus;
+    private final RecommendationStatus stopLossStatus;
+    private final int maxBatchSize;
+    private final int maxBatchAttempts;
+    private final Counter droppedUpdates;
+    private final Queue<PendingUpdate> pending = new ConcurrentLinkedQueue<>();
+
+    public PriceTriggerProcessor(PriceFeed priceFeed,
+                                 OpenRecommendationIndex index,
+                                 RecommendationRepository recommendationRepository,
+                                 RecommendationService recommendationService,
+                                 RecommendationStatus targetHitStatus,
+                                 RecommendationStatus stopLossStatus,
+                                 int maxBatchSize,
+                                 int maxBatchAttempts,
+                                 MeterRegistry meterRegistry) {
+        this.priceFeed = priceFeed;
+        this.index = index;
+        this.recommendationRepository = recommendationRepository;
+        this.recommendationService = recommendationService;
+        this.targetHitStatus = targetHitStatus;
+        this.stopLossStatus = stopLossStatus;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchAttempts = maxBatchAttempts;
+        this.droppedUpdates = Counter.builder("investment.price-feed.updates.dropped")
+                .description("Price-triggered status changes dropped after repeated failures")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (Recommendation r : recommendationRepository.findActiveRecommendations(RecommendationStatus.OPEN)) {
+            index.watch(r.getId(), r.getTickerSymbol(), r.getEntryPrice(), r.getTargetPrice(), r.getStopLoss());
+        }
+        log.info("Watching {} open recommendations for target/stop-loss crossings", index.size());
+        priceFeed.start(this::onTick);
+    }
+
+    public void onTick(PriceTick tick) {
+        index.evaluate(tick, this::onCrossing);
+    }
+
+    private void onCrossing(Long recommendationId, boolean targetHit, PriceTick tick) {
+        pending.add(new PendingUpdate(RecommendationStatusUpdate.builder()
+                .id(recommendationId)
+                .status(targetHit ? targetHitStatus : stopLossStatus)
+                .sellPrice(BigDecimal.valueOf(tick.getPrice()).setScale(2, RoundingMode.HALF_UP))
+                .exitDate(LocalDate.ofInstant(tick.getTimestamp(), ZoneId.systemDefault()))
+                .build(), 0));
+    }
+
+    @Scheduled(fixedDelayString = "${investment.price-feed.flush-interval-ms:200}")
+    public void flush() {
+        List<PendingUpdate> batch = new ArrayList<>();
+        PendingUpdate update;
+        while (batch.size() < maxBatchSize && (update = pending.poll()) != null) {
+            batch.add(update);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            RecommendationBatchResponse result = recommendationService.applyPriceTriggers(
+                    batch.stream().map(PendingUpdate::update).toList());
+            log.info("Price feed closed {} recommendations ({} skipped)", result.getSucceeded(), result.getFailed());
+        } catch (RuntimeException e) {
+            // The index no longer holds these, so retries never pile up duplicates
+            log.error("Failed to apply {} price-triggered status changes, will retry", batch.size(), e);
+            for (PendingUpdate failed : batch) {
+                PendingUpdate retry = new PendingUpdate(failed.update(), failed.attempts() + 1);
+                if (retry.attempts() < maxBatchAttempts) {
+                    pending.add(retry);
+                } else {
+                    applyAlone(retry);
+                }
+            }
+        }
+    }
+
+    private void applyAlone(PendingUpdate update) {
+        try {
+            recommendationService.applyPriceTriggers(List.of(update.update()));
+        } catch (RuntimeException e) {
+            droppedUpdates.increment();
+            log.error("Dropping price-triggered {} of recommendation {} after {} failed batches and a single attempt;"
+                            + " it stays as it is until changed through the API",
+                    update.update().getStatus(), update.update().getId(), update.attempts(), e);
+        }
+    }
+
+    // Keeps the index in line with admin/API writes and with our own batched updates
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecommendationChanged(RecommendationChangedEvent event) {
+        RecommendationResponse after = event.getAfter();
+        if (after != null && after.getStatus() == RecommendationStatus.OPEN) {
+            index.watch(after.getId(), after.getTickerSymbol(), after.getEntryPrice(), after.getTargetPrice(), after.getStopLoss());
+        } else {
+            index.unwatch(event.getRecommendationId());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        priceFeed.stop();
+        flush();
+    }
+
+    private record PendingUpdate(RecommendationStatusUpdate update, int attempts) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.confiance.investment.pricefeed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Replays ticks from a CSV file of "tickerSymbol,price[,epochMillis]" lines, for local
+ * testing and load experiments. Blank lines and lines starting with '#' are skipped.
+ * The replay loop runs on the application task executor, so it follows the configured
+ * threading mode (virtual threads when spring.threads.virtual.enabled=true).
+ */
+@Slf4j
+public class ReplayPriceFeed implements PriceFeed {
+
+    private final Path file;
+    private final int ticksPerSecond;
+    private final boolean loop;
+    private final AsyncTaskExecutor taskExecutor;
+
+    private volatile boolean running;
+    private Future<?> replay;
+
+    public ReplayPriceFeed(Path file, int ticksPerSecond, boolean loop, AsyncTaskExecutor taskExecutor) {
+        this.file = file;
+        this.ticksPerSecond = ticksPerSecond;
+        this.loop = loop;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public synchronized void start(Consumer<PriceTick> listener) {
+        if (running) {
+            return;
+        }
+        running = true;
+        replay = taskExecutor.submit(() -> replay(listener));
+        log.info("Replaying price ticks from {} at {} ticks/s", file, ticksPerSecond > 0 ? ticksPerSecond : "max");
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (replay != null) {
+            replay.cancel(true);
+            replay = null;
+        }
+    }
+
+    private void replay(Consumer<PriceTick> listener) {
+        long pauseNanos = ticksPerSecond > 0 ? 1_000_000_000L / ticksPerSecond : 0;
+        do {
+            try (BufferedReader reader = Files.newBufferedReader(file)) {
+                String line;
+                while (running && !Thread.currentThread().isInterrupted() && (line = reader.readLine()) != null) {
+                    PriceTick tick = parse(line);
+                    if (tick == null) {
+                        continue;
+                    }
+                    listener.accept(tick);
+                    if (pauseNanos > 0) {
+                        LockSupport.parkNanos(pauseNanos);
+                    }
+                }
+            } catch (IOException e) {
+                log.error("Failed to read price replay file {}", file, e);
+                return;
+            }
+        } while (running && loop);
+        log.info("Price replay of {} finished", file);
+    }
+
+    private PriceTick parse(String line) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return null;
+        }
+        String[] parts = trimmed.split(",");
+        try {
+            Instant timestamp = parts.length > 2 ? Instant.ofEpochMilli(Long.parseLong(parts[2].trim())) : Instant.now();
+            return new PriceTick(parts[0].trim().toUpperCase(), Double.parseDouble(parts[1].trim()), timestamp);
+        } catch (RuntimeException e) {
+            log.debug("Skipping malformed price line: {}", line);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package com.confiance.investment.protobuf;
+
+import com.confiance.common.dto.ApiResponse;
+import com.confiance.common.dto.PageResponse;
+import com.confiance.investment.dto.CursorPageResponse;
+import com.confiance.investment.dto.InvestmentProductResponse;
+import com.confiance.investment.dto.RecommendationResponse;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.ResolvableType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Writes ApiResponse bodies as the messages in proto/investment/v1/responses.proto, without
+ * generated classes. Sizes are computed first (each row once), so the whole body is
+ * encoded into one exactly sized array. ApiResponse and PageResponse come from common-lib
+ * and are read by property name; the service's own DTOs are read through their getters.
+ * Field numbers below must match the .proto file.
+ */
+public final class ProtobufResponseEncoder {
+
+    public static final String SCHEMA = "proto/investment/v1/responses.proto";
+    public static final String MESSAGE = "confiance.investment.v1.Response";
+
+    /**
+     * Response.data alternatives, with their field numbers.
+     */
+    public enum Payload {
+        RECOMMENDATION(10),
+        RECOMMENDATION_PAGE(11),
+        RECOMMENDATION_CURSOR_PAGE(12),
+        INVESTMENT_PRODUCT(13),
+        INVESTMENT_PRODUCT_PAGE(14);
+
+        private final int fieldNumber;
+
+        Payload(int fieldNumber) {
+            this.fieldNumber = fieldNumber;
+        }
+
+        boolean recommendationRows() {
+            return this == RECOMMENDATION || this == RECOMMENDATION_PAGE || this == RECOMMENDATION_CURSOR_PAGE;
+        }
+    }
+
+    private ProtobufResponseEncoder() {
+    }
+
+    /**
+     * True for an ApiResponse whose data type has a message in the schema. A data type
+     * that is not declared (Object, Void) is accepted: it is checked against the value.
+     */
+    public static boolean supports(ResolvableType responseType) {
+        ResolvableType apiResponse = responseType.as(ApiResponse.class);
+        if (apiResponse == ResolvableType.NONE) {
+            return false;
+        }
+        Class<?> data = apiResponse.getGeneric(0).resolve();
+        return data == null || data == Object.class || data == Void.class || payloadFor(apiResponse.getGeneric(0)) != null;
+    }
+
+    /**
+     * Encodes an ApiResponse as a Response message.
+     *
+     * @throws IllegalArgumentException if the data has no message in the schema
+     */
+    public static byte[] encode(Object apiResponse, ResolvableType responseType) {
+        BeanWrapper envelope = PropertyAccessorFactory.forBeanPropertyAccess(apiResponse);
+        boolean success = envelope.isReadableProperty("success") && Boolean.TRUE.equals(envelope.getPropertyValue("success"));
+        Object messageValue = envelope.isReadableProperty("message") ? envelope.getPropertyValue("message") : null;
+        String message = messageValue != null ? messageValue.toString() : null;
+        Object data = envelope.getPropertyValue("data");
+
+        Body body = null;
+        if (data != null) {
+            Payload payload = payloadFor(responseType.as(ApiResponse.class).getGeneric(0));
+            if (payload == null) {
+                payload = payloadFor(data);
+            }
+            if (payload == null) {
+                throw new IllegalArgumentException("No protobuf message for " + data.getClass().getName());
+            }
+            body = new Body(payload, data);
+        }
+
+        int size = (success ? CodedOutputStream.computeBoolSize(1, true) : 0)
+                + stringSize(2, message)
+                + (body != null ? lengthDelimitedSize(body.payload.fieldNumber, body.size) : 0);
+        byte[] buffer = new byte[size];
+        CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        try {
+            if (success) {
+                out.writeBool(1, true);
+            }
+            writeString(out, 2, message);
+            if (body != null) {
+                writeLengthDelimited(out, body.payload.fieldNumber, body.size);
+                body.writeTo(out);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Protobuf body larger than its computed size", e);
+        }
+        out.checkNoSpaceLeft();
+        return buffer;
+    }
+
+    static Payload payloadFor(ResolvableType dataType) {
+        Class<?> type = dataType.resolve();
+        if (type == null) {
+            return null;
+        }
+        if (type == RecommendationResponse.class) {
+            return Payload.RECOMMENDATION;
+        }
+        if (type == InvestmentProductResponse.class) {
+            return Payload.INVESTMENT_PRODUCT;
+        }
+        Class<?> element = dataType.getGeneric(0).resolve();
+        if (PageResponse.class.isAssignableFrom(type) && element == RecommendationResponse.class) {
+            return Payload.RECOMMENDATION_PAGE;
+        }
+        if (PageResponse.class.isAssignableFrom(type) && element == InvestmentProductResponse.class) {
+            return Payload.INVESTMENT_PRODUCT_PAGE;
+        }
+        if (CursorPageResponse.class.isAssignableFrom(type) && element == RecommendationResponse.class) {
+            return Payload.RECOMMENDATION_CURSOR_PAGE;
+        }
+        return null;
+    }
+
+    // For undeclared generics: page type from the first row (an empty page of either kind encodes the same)
+    private static Payload payloadFor(Object data) {
+        if (data instanceof CursorPageResponse<?> cursor) {
+            return cursor.getContent() == null || cursor.getContent().isEmpty()
+                    || cursor.getContent().get(0) instanceof RecommendationResponse ? Payload.RECOMMENDATION_CURSOR_PAGE : null;
+        }
+        if (data instanceof PageResponse<?>) {
+            Object content = PropertyAccessorFactory.forBeanPropertyAccess(data).getPropertyValue("content");
+            Object first = content instanceof List<?> rows && !rows.isEmpty() ? rows.get(0) : null;
+            if (first == null || first instanceof RecommendationResponse) {
+                return Payload.RECOMMENDATION_PAGE;
+            }
+            return first instanceof InvestmentProductResponse ? Payload.INVESTMENT_PRODUCT_PAGE : null;
+        }
+        return payloadFor(ResolvableType.forClass(data.getClass()));
+    }
+
+    /**
+     * The data message with its computed size; page bodies keep each row's size for writing.
+     */
+    private static final class Body {
+
+        private final Payload payload;
+        private final Object data;
+        private List<?> rows = List.of();
+        private int[] rowSizes;
+        private BeanWrapper page;
+        private int size;
+
+        Body(Payload payload, Object data) {
+            this.payload = payload;
+            this.data = data;
+            switch (payload) {
+                case RECOMMENDATION -> size = recommendationSize((RecommendationResponse) data);
+                case INVESTMENT_PRODUCT -> size = productSize((InvestmentProductResponse) data);
+                case RECOMMENDATION_PAGE, INVESTMENT_PRODUCT_PAGE -> {
+                    page = PropertyAccessorFactory.forBeanPropertyAccess(data);
+                    rows = rowsOf(page.getPropertyValue("content"));
+                    size = rowsSize() + pageFieldsSize();
+                }
+                case RECOMMENDATION_CURSOR_PAGE -> {
+                    rows = rowsOf(((CursorPageResponse<?>) data).getContent());
+                    size = rowsSize() + cursorFieldsSize((CursorPageResponse<?>) data);
+                }
+            }
+        }
+
+        void writeTo(CodedOutputStream out) throws IOException {
+            switch (payload) {
+                case RECOMMENDATION -> writeRecommendation(out, (RecommendationResponse) data);
+                case INVESTMENT_PRODUCT -> writeProduct(out, (InvestmentProductResponse) data);
+                case RECOMMENDATION_PAGE, INVESTMENT_PRODUCT_PAGE -> {
+                    writeRows(out);
+                    writePageFields(out);
+                }
+                case RECOMMENDATION_CURSOR_PAGE -> {
+                    writeRows(out);
+                    writeCursorFields(out, (CursorPageResponse<?>) data);
+                }
+            }
+        }
+
+        private int rowsSize() {
+            rowSizes = new int[rows.size()];
+            int total = 0;
+            for (int i = 0; i < rowSizes.length; i++) {
+                Object row = rows.get(i);
+                rowSizes[i] = payload.recommendationRows()
+                        ? recommendationSize((RecommendationResponse) row) : productSize((InvestmentProductResponse) row);
+                total += lengthDelimitedSize(1, rowSizes[i]);
+            }
+            return total;
+        }
+
+        private void writeRows(CodedOutputStream out) throws IOException {
+            for (int i = 0; i < rowSizes.length; i++) {
+                writeLengthDelimited(out, 1, rowSizes[i]);
+                if (payload.recommendationRows()) {
+                    writeRecommendation(out, (RecommendationResponse) rows.get(i));
+                } else {
+                    writeProduct(out, (InvestmentProductResponse) rows.get(i));
+                }
+            }
+        }
+
+        private int pageFieldsSize() {
+            return countSize(2, number("pageNumber")) + countSize(3, number("pageSize"))
+                    + countSize(4, number("totalElements")) + countSize(5, number("totalPages"))
+                    + flagSize(6, flag("first")) + flagSize(7, flag("last")) + flagSize(8, flag("empty"));
+        }
+
+        private void writePageFields(CodedOutputStream out) throws IOException {
+            writeCount(out, 2, number("pageNumber"));
+            writeCount(out, 3, number("pageSize"));
+            writeCount(out, 4, number("totalElements"));
+            writeCount(out, 5, number("totalPages"));
+            writeFlag(out, 6, flag("first"));
+            writeFlag(out, 7, flag("last"));
+            writeFlag(out, 8, flag("empty"));
+        }
+
+        private long number(String property) {
+            return page.getPropertyValue(property) instanceof Number number ? number.longValue() : 0;
+        }
+
+        private boolean flag(String property) {
+            return Boolean.TRUE.equals(page.getPropertyValue(property));
+        }
+
+        private static List<?> rowsOf(Object content) {
+            return content instanceof List<?> list ? list : List.of();
+        }
+    }
+
+    private static int cursorFieldsSize(CursorPageResponse<?> cursor) {
+        return countSize(2, cursor.getSize()) + flagSize(3, cursor.isHasNext())
+                + stringSize(4, cursor.getNextCursor()) + int64Size(5, cursor.getTotalElements());
+    }
+
+    private static void writeCursorFields(CodedOutputStream out, CursorPageResponse<?> cursor) throws IOException {
+        writeCount(out, 2, cursor.getSize());
+        writeFlag(out, 3, cursor.isHasNext());
+        writeString(out, 4, cursor.getNextCursor());
+        writeInt64(out, 5, cursor.getTotalElements());
+    }
+
+    private static int recommendationSize(RecommendationResponse r) {
+        return int64Size(1, r.getId())
+                + enumSize(2, r.getMarket())
+                + stringSize(3, r.getCurrency())
+                + stringSize(4, r.getTickerSymbol())
+                + stringSize(5, r.getCompanyName())
+                + enumSize(6, r.getTradeType())
+                + dateSize(7, r.getRecommendationDate())
+                + decimalSize(8, r.getEntryPrice())
+                + decimalSize(9, r.getTargetPrice())
+                + decimalSize(10, r.getStopLoss())
+                + decimalSize(11, r.getRiskRewardRatio())
+                + decimalSize(12, r.getSellPrice())
+                + dateSize(13, r.getExitDate())
+                + int32Size(14, r.getHoldingPeriodDays())
+                + enumSize(15, r.getStatus())
+                + stringSize(16, r.getRemarks())
+                + int64Size(17, r.getCreatedByUserId())
+                + dateTimeSize(18, r.getCreatedAt())
+                + dateTimeSize(19, r.getUpdatedAt())
+                + decimalSize(20, r.getPotentialReturn())
+                + decimalSize(21, r.getPotentialRisk())
+                + decimalSize(22, r.getPotentialReturnPercentage());
+    }
+
+    private static void writeRecommendation(CodedOutputStream out, RecommendationResponse r) throws IOException {
+        writeInt64(out, 1, r.getId());
+        writeEnum(out, 2, r.getMarket());
+        writeString(out, 3, r.getCurrency());
+        writeString(out, 4, r.getTickerSymbol());
+        writeString(out, 5, r.getCompanyName());
+        writeEnum(out, 6, r.getTradeType());
+        writeDate(out, 7, r.getRecommendationDate());
+        writeDecimal(out, 8, r.getEntryPrice());
+        writeDecimal(out, 9, r.getTargetPrice());
+        writeDecimal(out, 10, r.getStopLoss());
+        writeDecimal(out, 11, r.getRiskRewardRatio());
+        writeDecimal(out, 12, r.getSellPrice());
+        writeDate(out, 13, r.getExitDate());
+        writeInt32(out, 14, r.getHoldingPeriodDays());
+        writeEnum(out, 15, r.getStatus());
+        writeString(out, 16, r.getRemarks());
+        writeInt64(out, 17, r.getCreatedByUserId());
+        writeDateTime(out, 18, r.getCreatedAt());
+        writeDateTime(out, 19, r.getUpdatedAt());
+        writeDecimal(out, 20, r.getPotentialReturn());
+        writeDecimal(out, 21, r.getPotentialRisk());
+        writeDecimal(out, 22, r.getPotentialReturnPercentage());
+    }
+
+    private static int productSize(InvestmentProductResponse p) {
+        return int64Size(1, p.getId())
+                + stringSize(2, p.getName())
+                + stringSize(3, p.getDescription())
+                + enumSize(4, p.getType())
+                + decimalSize(5, p.getExpectedReturns())
+                + decimalSize(6, p.getMinInvestment())
+                + decimalSize(7, p.getMaxInvestment())
+                + int32Size(8, p.getLockInPeriodMonths())
+                + enumSize(9, p.getStatus())
+                + dateTimeSize(10, p.getCreatedAt());
+    }
+
+    private static void writeProduct(CodedOutputStream out, InvestmentProductResponse p) throws IOException {
+        writeInt64(out, 1, p.getId());
+        writeString(out, 2, p.getName());
+        writeString(out, 3, p.getDescription());
+        writeEnum(out, 4, p.getType());
+        writeDecimal(out, 5, p.getExpectedReturns());
+        writeDecimal(out, 6, p.getMinInvestment());
+        writeDecimal(out, 7, p.getMaxInvestment());
+        writeInt32(out, 8, p.getLockInPeriodMonths());
+        writeEnum(out, 9, p.getStatus());
+        writeDateTime(out, 10, p.getCreatedAt());
+    }
+
+    // Field helpers: a null value is left out; non-null values are always written, so
+    // `optional` fields keep an explicit 0
+
+    private static int lengthDelimitedSize(int field, int length) {
+        return CodedOutputStream.computeTagSize(field) + CodedOutputStream.computeUInt32SizeNoTag(length) + length;
+    }
+
+    private static void writeLengthDelimited(CodedOutputStream out, int field, int length) throws IOException {
+        out.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        out.writeUInt32NoTag(length);
+    }
+
+    private static int int64Size(int field, Long value) {
+        return value != null ? CodedOutputStream.computeInt64Size(field, value) : 0;
+    }
+
+    private static void writeInt64(CodedOutputStream out, int field, Long value) throws IOException {
+        if (value != null) {
+            out.writeInt64(field, value);
+        }
+    }
+
+    private static int int32Size(int field, Integer value) {
+        return value != null ? CodedOutputStream.computeInt32Size(field, value) : 0;
+    }
+
+    private static void writeInt32(CodedOutputStream out, int field, Integer value) throws IOException {
+        if (value != null) {
+            out.writeInt32(field, value);
+        }
+    }
+
+    // Non-negative counts; the varint is the same for int32 and int64 fields. Zero is the default and left out.
+    private static int countSize(int field, long value) {
+        return value != 0 ? CodedOutputStream.computeInt64Size(field, value) : 0;
+    }
+
+    private static void writeCount(CodedOutputStream out, int field, long value) throws IOException {
+        if (value != 0) {
+            out.writeInt64(field, value);
+        }
+    }
+
+    private static int flagSize(int field, boolean value) {
+        return value ? CodedOutputStream.computeBoolSize(field, true) : 0;
+    }
+
+    private static void writeFlag(CodedOutputStream out, int field, boolean value) throws IOException {
+        if (value) {
+            out.writeBool(field, true);
+        }
+    }
+
+    private static int stringSize(int field, String value) {
+        return value != null ? CodedOutputStream.computeStringSize(field, value) : 0;
+    }
+
+    private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null) {
+            out.writeString(field, value);
+        }
+    }
+
+    private static int enumSize(int field, Enum<?> value) {
+        return value != null ? CodedOutputStream.computeStringSize(field, value.name()) : 0;
+    }
+
+    private static void writeEnum(CodedOutputStream out, int field, Enum<?> value) throws IOException {
+        if (value != null) {
+            out.writeString(field, value.name());
+        }
+    }
+
+    private static int dateSize(int field, LocalDate value) {
+        return value != null ? CodedOutputStream.computeInt32Size(field, (int) value.toEpochDay()) : 0;
+    }
+
+    private static void writeDate(CodedOutputStream out, int field, LocalDate value) throws IOException {
+        if (value != null) {
+            out.writeInt32(field, (int) value.toEpochDay());
+        }
+    }
+
+    private static int dateTimeSize(int field, LocalDateTime value) {
+        return value != null ? CodedOutputStream.computeInt64Size(field, value.toInstant(ZoneOffset.UTC).toEpochMilli()) : 0;
+    }
+
+    private static void writeDateTime(CodedOutputStream out, int field, LocalDateTime value) throws IOException {
+        if (value != null) {
+            out.writeInt64(field, value.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+    }
+
+    private static int decimalSize(int field, BigDecimal value) {
+        return value != null ? lengthDelimitedSize(field, decimalBodySize(value)) : 0;
+    }
+
+    private static void writeDecimal(CodedOutputStream out, int field, BigDecimal value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        writeLengthDelimited(out, field, decimalBodySize(value));
+        BigInteger unscaled = value.unscaledValue();
+        if (unscaled.bitLength() < Long.SIZE) {
+            if (unscaled.signum() != 0) {
+                out.writeSInt64(1, unscaled.longValue());
+            }
+        } else {
+            out.writeByteArray(3, unscaled.toByteArray());
+        }
+        if (value.scale() != 0) {
+            out.writeInt32(2, value.scale());
+        }
+    }
+
+    private static int decimalBodySize(BigDecimal value) {
+        BigInteger unscaled = value.unscaledValue();
+        int size = value.scale() != 0 ? CodedOutputStream.computeInt32Size(2, value.scale()) : 0;
+        if (unscaled.bitLength() >= Long.SIZE) {
+            return size + CodedOutputStream.computeByteArraySize(3, unscaled.toByteArray());
+        }
+        return size + (unscaled.signum() != 0 ? CodedOutputStream.computeSInt64Size(1, unscaled.longValue()) : 0);
+    }
+}
@@ -0,0 +1,29 @@
+package com.confiance.investment.repository;
+
+import com.confiance.investment.dto.TickerAggregate;
+import com.confiance.investment.entity.ArchivedRecommendation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedRecommendationRepository extends JpaRepository<ArchivedRecommendation, Long> {
+
+    // Served by idx_archive_date_id
+    @Query("SELECT MAX(a.recommendationDate) FROM ArchivedRecommendation a")
+    LocalDate findNewestRecommendationDate();
+
+    // Changes on every archiver run that moved rows; served by idx_archive_archived_at
+    @Query("SELECT MAX(a.archivedAt) FROM ArchivedRecommendation a")
+    LocalDateTime findLatestArchivedAt();
+
+    // Same shape as RecommendationRepository.aggregateTickers; archived rows are never open
+    @Query("SELECT new com.confiance.investment.dto.TickerAggregate(a.tickerSymbol, a.market, MAX(a.companyName), " +
+            "COUNT(a), 0L, MAX(a.recommendationDate)) " +
+            "FROM ArchivedRecommendation a GROUP BY a.tickerSymbol, a.market")
+    List<TickerAggregate> aggregateTickers();
+}
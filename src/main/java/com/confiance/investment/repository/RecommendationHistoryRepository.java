@@ -0,0 +1,13 @@
+package com.confiance.investment.repository;
+
+import com.confiance.investment.entity.RecommendationHistory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RecommendationHistoryRepository extends JpaRepository<RecommendationHistory, Long> {
+
+    Page<RecommendationHistory> findByRecommendationId(Long recommendationId, Pageable pageable);
+}
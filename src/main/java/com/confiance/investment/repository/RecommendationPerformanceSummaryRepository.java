@@ -0,0 +1,9 @@
+package com.confiance.investment.repository;
+
+import com.confiance.investment.entity.RecommendationPerformanceSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RecommendationPerformanceSummaryRepository extends JpaRepository<RecommendationPerformanceSummary, Long> {
+}
@@ -2,10 +2,12 @@ package com.confiance.investment.repository;
 
 import com.confiance.common.enums.Market;
 import com.confiance.common.enums.RecommendationStatus;
+import com.confiance.investment.dto.TickerAggregate;
 import com.confiance.investment.entity.Recommendation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,7 +16,8 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface RecommendationRepository extends JpaRepository<Recommendation, Long> {
+public interface RecommendationRepository extends JpaRepository<Recommendation, Long>,
+        JpaSpecificationExecutor<Recommendation>, RecommendationRepositoryCustom {
 
     Page<Recommendation> findByStatus(RecommendationStatus status, Pageable pageable);
 
@@ -32,11 +35,9 @@ public interface RecommendationRepository extends JpaRepository<Recommendation,
                                           @Param("endDate") LocalDate endDate,
                                           Pageable pageable);
 
-    @Query("SELECT r FROM Recommendation r WHERE " +
-           "(:market IS NULL OR r.market = :market) AND " +
-           "(:status IS NULL OR r.status = :status) " +
-           "ORDER BY r.recommendationDate DESC")
-    Page<Recommendation> findWithFilters(@Param("market") Market market,
-                                          @Param("status") RecommendationStatus status,
-                                          Pageable pageable);
+    // One row per ticker and market for the search index; served by idx_ticker_symbol
+    @Query("SELECT new com.confiance.investment.dto.TickerAggregate(r.tickerSymbol, r.market, MAX(r.companyName), " +
+            "COUNT(r), SUM(CASE WHEN r.status = :openStatus THEN 1 ELSE 0 END), MAX(r.recommendationDate)) " +
+            "FROM Recommendation r GROUP BY r.tickerSymbol, r.market")
+    List<TickerAggregate> aggregateTickers(@Param("openStatus") RecommendationStatus openStatus);
 }
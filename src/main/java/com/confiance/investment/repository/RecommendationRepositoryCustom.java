@@ -0,0 +1,42 @@
+package com.confiance.investment.repository;
+
+import com.confiance.investment.dto.RecommendationSummary;
+import com.confiance.investment.entity.Recommendation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+public interface RecommendationRepositoryCustom {
+
+    Page<RecommendationSummary> findSummaries(Specification<Recommendation> spec, Pageable pageable);
+
+    // Fetches one extra row to detect a next page instead of running a COUNT(*)
+    Slice<RecommendationSummary> findSummarySlice(Specification<Recommendation> spec, Pageable pageable);
+
+    /**
+     * Streams matching rows from an open MySQL result set; entities come back detached so
+     * the persistence context stays empty. Must be consumed inside a transaction and closed.
+     */
+    Stream<Recommendation> streamAll(Specification<Recommendation> spec, Sort sort);
+
+    /*
+     * Archive-aware variants: the same queries against recommendations and
+     * recommendations_archive, merged in the requested sort order. The specification is
+     * applied to both tables, since ArchivedRecommendation mirrors Recommendation's
+     * attribute names.
+     */
+
+    // Reads offset + size rows from each table into memory; callers must cap the page depth
+    Page<RecommendationSummary> findSummariesIncludingArchive(Specification<Recommendation> spec, Pageable pageable);
+
+    Slice<RecommendationSummary> findSummarySliceIncludingArchive(Specification<Recommendation> spec, Pageable pageable);
+
+    long countIncludingArchive(Specification<Recommendation> spec);
+
+    // Archived rows only, as detached Recommendation copies; same contract as streamAll
+    Stream<Recommendation> streamArchived(Specification<Recommendation> spec, Sort sort);
+}
@@ -0,0 +1,225 @@
+package com.confiance.investment.repository;
+
+import com.confiance.investment.dto.RecommendationSummary;
+import com.confiance.investment.entity.ArchivedRecommendation;
+import com.confiance.investment.entity.Recommendation;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class RecommendationRepositoryCustomImpl implements RecommendationRepositoryCustom {
+
+    // Connector/J only streams row by row (instead of buffering the whole result) with this fetch size
+    private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final DistributionSummary pageRows;
+    private final DistributionSummary sliceRows;
+
+    public RecommendationRepositoryCustomImpl(MeterRegistry meterRegistry) {
+        this.pageRows = rowsSummary(meterRegistry, "findSummaries");
+        this.sliceRows = rowsSummary(meterRegistry, "findSummarySlice");
+    }
+
+    @Override
+    public Page<RecommendationSummary> findSummaries(Specification<Recommendation> spec, Pageable pageable) {
+        List<RecommendationSummary> content = selectSummaries(Recommendation.class, spec, pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize());
+        pageRows.record(content.size());
+        // Skips the COUNT(*) when the first page is already the last one
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(Recommendation.class, spec));
+    }
+
+    @Override
+    public Slice<RecommendationSummary> findSummarySlice(Specification<Recommendation> spec, Pageable pageable) {
+        List<RecommendationSummary> content = selectSummaries(Recommendation.class, spec, pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize() + 1);
+        sliceRows.record(content.size());
+        return toSlice(content, pageable);
+    }
+
+    @Override
+    public Stream<Recommendation> streamAll(Specification<Recommendation> spec, Sort sort) {
+        return stream(Recommendation.class, spec, sort);
+    }
+
+    @Override
+    public Page<RecommendationSummary> findSummariesIncludingArchive(Specification<Recommendation> spec, Pageable pageable) {
+        List<RecommendationSummary> content = selectIncludingArchive(spec, pageable, pageable.getPageSize());
+        pageRows.record(content.size());
+        return PageableExecutionUtils.getPage(content, pageable, () -> countIncludingArchive(spec));
+    }
+
+    @Override
+    public Slice<RecommendationSummary> findSummarySliceIncludingArchive(Specification<Recommendation> spec, Pageable pageable) {
+        List<RecommendationSummary> content = selectIncludingArchive(spec, pageable, pageable.getPageSize() + 1);
+        sliceRows.record(content.size());
+        return toSlice(content, pageable);
+    }
+
+    @Override
+    public long countIncludingArchive(Specification<Recommendation> spec) {
+        return count(Recommendation.class, spec) + count(ArchivedRecommendation.class, spec);
+    }
+
+    @Override
+    public Stream<Recommendation> streamArchived(Specification<Recommendation> spec, Sort sort) {
+        return stream(ArchivedRecommendation.class, spec, sort).map(ArchivedRecommendation::toRecommendation);
+    }
+
+    private <T> Stream<T> stream(Class<T> entity, Specification<Recommendation> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entity);
+        Root<T> root = query.from(entity);
+        Predicate predicate = toPredicate(spec, root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, MYSQL_STREAMING_FETCH_SIZE)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(row -> {
+                    entityManager.detach(row);
+                    return row;
+                });
+    }
+
+    /**
+     * Reads the first offset + limit rows of each table and merges them; the window of the
+     * merged order is then the requested page. Callers bound the depth (see
+     * investment.archive.max-merged-rows).
+     */
+    private List<RecommendationSummary> selectIncludingArchive(Specification<Recommendation> spec, Pageable pageable, int limit) {
+        int window = Math.toIntExact(Math.addExact(pageable.getOffset(), limit));
+        List<RecommendationSummary> merged = new ArrayList<>(
+                selectSummaries(Recommendation.class, spec, pageable.getSort(), 0, window));
+        merged.addAll(selectSummaries(ArchivedRecommendation.class, spec, pageable.getSort(), 0, window));
+        merged.sort(comparator(pageable.getSort()));
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        return new ArrayList<>(merged.subList(from, Math.min(from + limit, merged.size())));
+    }
+
+    private List<RecommendationSummary> selectSummaries(Class<?> entity, Specification<Recommendation> spec, Sort sort,
+                                                        long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RecommendationSummary> query = cb.createQuery(RecommendationSummary.class);
+        Root<?> root = query.from(entity);
+
+        query.select(cb.construct(RecommendationSummary.class,
+                root.get("id"),
+                root.get("market"),
+                root.get("currency"),
+                root.get("tickerSymbol"),
+                root.get("companyName"),
+                root.get("tradeType"),
+                root.get("recommendationDate"),
+                root.get("entryPrice"),
+                root.get("targetPrice"),
+                root.get("stopLoss"),
+                root.get("riskRewardRatio"),
+                root.get("potentialReturn"),
+                root.get("potentialReturnPercentage"),
+                root.get("potentialRisk"),
+                root.get("sellPrice"),
+                root.get("exitDate"),
+                root.get("holdingPeriodDays"),
+                root.get("status"),
+                root.get("remarks"),
+                root.get("createdByUserId"),
+                root.get("createdAt"),
+                root.get("updatedAt")));
+        Predicate predicate = toPredicate(spec, root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private long count(Class<?> entity, Specification<Recommendation> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<?> root = query.from(entity);
+        query.select(cb.count(root));
+        Predicate predicate = toPredicate(spec, root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // Specifications only resolve attributes by name, which both entities share
+    @SuppressWarnings("unchecked")
+    private static Predicate toPredicate(Specification<Recommendation> spec, Root<?> root,
+                                         CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return spec.toPredicate((Root<Recommendation>) root, query, cb);
+    }
+
+    private static Slice<RecommendationSummary> toSlice(List<RecommendationSummary> content, Pageable pageable) {
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    /**
+     * In-memory equivalent of the SQL ORDER BY: enums compare by name (they are stored as
+     * strings) and nulls sort first ascending, last descending, as in MySQL.
+     */
+    private static Comparator<RecommendationSummary> comparator(Sort sort) {
+        Comparator<RecommendationSummary> result = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            if (!PropertyAccessorFactory.forBeanPropertyAccess(new RecommendationSummary()).isReadableProperty(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort by " + order.getProperty() + " when archived rows are included");
+            }
+            Comparator<RecommendationSummary> byProperty = Comparator.comparing(
+                    summary -> sortKey(summary, order.getProperty()), Comparator.nullsFirst(Comparator.naturalOrder()));
+            result = result.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> sortKey(RecommendationSummary summary, String property) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(summary);
+        Object value = wrapper.getPropertyValue(property);
+        return (Comparable<Object>) (value instanceof Enum<?> e ? e.name() : value);
+    }
+
+    private static DistributionSummary rowsSummary(MeterRegistry meterRegistry, String method) {
+        return DistributionSummary.builder("investment.repository.rows")
+                .description("Rows returned per list query")
+                .baseUnit("rows")
+                .tag("repository", "RecommendationRepository")
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,77 @@
+package com.confiance.investment.repository;
+
+import com.confiance.common.enums.Market;
+import com.confiance.common.enums.RecommendationStatus;
+import com.confiance.investment.entity.Recommendation;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Builds filter predicates only for the criteria actually supplied, so each combination
+ * produces a plain equality query that can use the matching composite index instead of
+ * a catch-all "(:param IS NULL OR ...)" plan.
+ */
+public final class RecommendationSpecifications {
+
+    private RecommendationSpecifications() {
+    }
+
+    public static Specification<Recommendation> withFilters(Market market, RecommendationStatus status) {
+        return withFilters(market, status, null, null);
+    }
+
+    public static Specification<Recommendation> withFilters(Market market, RecommendationStatus status,
+                                                            BigDecimal minReturnPercentage,
+                                                            BigDecimal minRiskRewardRatio) {
+        Specification<Recommendation> spec = Specification.where(null);
+        if (market != null) {
+            spec = spec.and(hasMarket(market));
+        }
+        if (status != null) {
+            spec = spec.and(hasStatus(status));
+        }
+        if (minReturnPercentage != null) {
+            spec = spec.and(atLeast("potentialReturnPercentage", minReturnPercentage));
+        }
+        if (minRiskRewardRatio != null) {
+            spec = spec.and(atLeast("riskRewardRatio", minRiskRewardRatio));
+        }
+        return spec;
+    }
+
+    public static Specification<Recommendation> hasMarket(Market market) {
+        return (root, query, cb) -> cb.equal(root.get("market"), market);
+    }
+
+    public static Specification<Recommendation> hasStatus(RecommendationStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Recommendation> recommendedBetween(LocalDate fromDate, LocalDate toDate) {
+        Specification<Recommendation> spec = Specification.where(null);
+        if (fromDate != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("recommendationDate"), fromDate));
+        }
+        if (toDate != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("recommendationDate"), toDate));
+        }
+        return spec;
+    }
+
+    /**
+     * Keyset predicate for (recommendationDate DESC, id DESC) ordering: rows strictly after
+     * the given position.
+     */
+    public static Specification<Recommendation> before(LocalDate recommendationDate, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("recommendationDate"), recommendationDate),
+                cb.and(cb.equal(root.get("recommendationDate"), recommendationDate),
+                        cb.lessThan(root.get("id"), id)));
+    }
+
+    private static Specification<Recommendation> atLeast(String attribute, BigDecimal value) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get(attribute), value);
+    }
+}
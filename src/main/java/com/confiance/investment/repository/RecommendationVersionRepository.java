@@ -0,0 +1,23 @@
+package com.confiance.investment.repository;
+
+import com.confiance.investment.entity.RecommendationVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RecommendationVersionRepository extends JpaRepository<RecommendationVersion, Long> {
+
+    // The first change after CREATED (version 1) inserts 2. Flushing first takes the
+    // recommendation row lock before this one, in the same order in every transaction.
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO recommendation_versions (recommendation_id, version) VALUES (:id, 2)"
+            + " ON DUPLICATE KEY UPDATE version = version + 1", nativeQuery = true)
+    int increment(@Param("id") Long recommendationId);
+
+    // Reads this transaction's own increment
+    @Query(value = "SELECT version FROM recommendation_versions WHERE recommendation_id = :id", nativeQuery = true)
+    long currentVersion(@Param("id") Long recommendationId);
+}
@@ -0,0 +1,12 @@
+package com.confiance.investment.search;
+
+/**
+ * How a suggestion matched the query, strongest first.
+ */
+public enum MatchType {
+    EXACT_TICKER,
+    TICKER_PREFIX,
+    COMPANY_PREFIX,
+    COMPANY_WORD_PREFIX,
+    FUZZY
+}
@@ -0,0 +1,233 @@
+package com.confiance.investment.search;
+
+import com.confiance.common.enums.Market;
+import com.confiance.investment.dto.TickerAggregate;
+import com.confiance.investment.dto.TickerSuggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable typeahead index over ticker symbols and company names. Prefix lookups binary
+ * search sorted key arrays (a flattened trie: every key sharing a prefix is one contiguous
+ * range). Fuzzy lookups score trigram overlap (Jaccard) from an inverted index. A
+ * rebuild produces a new instance that is swapped in atomically, so readers never lock.
+ */
+final class TickerSearchIndex {
+
+    static final TickerSearchIndex EMPTY = build(List.of());
+
+    private static final double EXACT_TICKER_SCORE = 1.0;
+    private static final double TICKER_PREFIX_SCORE = 0.9;
+    private static final double COMPANY_PREFIX_SCORE = 0.75;
+    private static final double COMPANY_WORD_PREFIX_SCORE = 0.6;
+    private static final double FUZZY_SCORE = 0.5;
+    private static final int MIN_FUZZY_QUERY_LENGTH = 3;
+
+    private static final Comparator<Candidate> RANKING = Comparator
+            .comparingDouble(Candidate::score).reversed()
+            .thenComparing(c -> -c.entry().getOpenRecommendationCount())
+            .thenComparing(c -> -c.entry().getRecommendationCount())
+            .thenComparing(c -> c.entry().getTickerSymbol());
+
+    private final TickerAggregate[] entries;
+    private final SortedKeys tickers;
+    private final SortedKeys companies;
+    private final SortedKeys companyWords;
+    private final Map<String, int[]> trigramPostings;
+    private final int[] trigramCounts;
+
+    private TickerSearchIndex(TickerAggregate[] entries, SortedKeys tickers, SortedKeys companies,
+                              SortedKeys companyWords, Map<String, int[]> trigramPostings, int[] trigramCounts) {
+        this.entries = entries;
+        this.tickers = tickers;
+        this.companies = companies;
+        this.companyWords = companyWords;
+        this.trigramPostings = trigramPostings;
+        this.trigramCounts = trigramCounts;
+    }
+
+    static TickerSearchIndex build(List<TickerAggregate> aggregates) {
+        TickerAggregate[] entries = aggregates.toArray(new TickerAggregate[0]);
+        List<String> tickerKeys = new ArrayList<>();
+        List<String> companyKeys = new ArrayList<>();
+        List<String> wordKeys = new ArrayList<>();
+        List<Integer> tickerIds = new ArrayList<>();
+        List<Integer> companyIds = new ArrayList<>();
+        List<Integer> wordIds = new ArrayList<>();
+        Map<String, List<Integer>> postings = new HashMap<>();
+        int[] trigramCounts = new int[entries.length];
+
+        for (int i = 0; i < entries.length; i++) {
+            String ticker = entries[i].getTickerSymbol().toUpperCase(Locale.ROOT);
+            tickerKeys.add(ticker);
+            tickerIds.add(i);
+
+            String company = normalize(entries[i].getCompanyName());
+            if (!company.isEmpty()) {
+                companyKeys.add(company);
+                companyIds.add(i);
+                for (String word : company.split(" ")) {
+                    wordKeys.add(word);
+                    wordIds.add(i);
+                }
+            }
+
+            Set<String> trigrams = trigrams(ticker.toLowerCase(Locale.ROOT));
+            trigrams.addAll(trigrams(company));
+            trigramCounts[i] = trigrams.size();
+            for (String trigram : trigrams) {
+                postings.computeIfAbsent(trigram, t -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Map<String, int[]> trigramPostings = new HashMap<>(postings.size() * 2);
+        postings.forEach((trigram, ids) -> trigramPostings.put(trigram, ids.stream().mapToInt(Integer::intValue).toArray()));
+        return new TickerSearchIndex(entries,
+                SortedKeys.of(tickerKeys, tickerIds),
+                SortedKeys.of(companyKeys, companyIds),
+                SortedKeys.of(wordKeys, wordIds),
+                trigramPostings, trigramCounts);
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    /**
+     * Ranked suggestions for the query, at most maxResults of them.
+     */
+    List<TickerSuggestion> search(String query, Market market, double minSimilarity, int maxResults) {
+        String upper = query.trim().toUpperCase(Locale.ROOT);
+        String lower = normalize(query);
+        if (upper.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Candidate> candidates = new HashMap<>();
+        tickers.forPrefix(upper, id -> {
+            boolean exact = entries[id].getTickerSymbol().equalsIgnoreCase(upper);
+            // Shorter tickers rank first among prefix matches
+            double score = exact ? EXACT_TICKER_SCORE
+                    : TICKER_PREFIX_SCORE - 0.01 * Math.min(9, entries[id].getTickerSymbol().length() - upper.length());
+            offer(candidates, id, exact ? MatchType.EXACT_TICKER : MatchType.TICKER_PREFIX, score, market);
+        });
+        companies.forPrefix(lower, id -> offer(candidates, id, MatchType.COMPANY_PREFIX, COMPANY_PREFIX_SCORE, market));
+        companyWords.forPrefix(lower, id -> offer(candidates, id, MatchType.COMPANY_WORD_PREFIX, COMPANY_WORD_PREFIX_SCORE, market));
+
+        if (lower.length() >= MIN_FUZZY_QUERY_LENGTH) {
+            Set<String> queryTrigrams = trigrams(lower);
+            Map<Integer, Integer> shared = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                int[] ids = trigramPostings.get(trigram);
+                if (ids != null) {
+                    for (int id : ids) {
+                        shared.merge(id, 1, Integer::sum);
+                    }
+                }
+            }
+            shared.forEach((id, count) -> {
+                double similarity = (double) count / (queryTrigrams.size() + trigramCounts[id] - count);
+                if (similarity >= minSimilarity) {
+                    offer(candidates, id, MatchType.FUZZY, FUZZY_SCORE * similarity, market);
+                }
+            });
+        }
+
+        return candidates.values().stream()
+                .sorted(RANKING)
+                .limit(maxResults)
+                .map(Candidate::toSuggestion)
+                .toList();
+    }
+
+    private void offer(Map<Integer, Candidate> candidates, int id, MatchType matchType, double score, Market market) {
+        TickerAggregate entry = entries[id];
+        if (market != null && entry.getMarket() != market) {
+            return;
+        }
+        Candidate current = candidates.get(id);
+        if (current == null || current.score() < score) {
+            candidates.put(id, new Candidate(entry, matchType, score));
+        }
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}&]+", " ").trim();
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        if (text.isEmpty()) {
+            return trigrams;
+        }
+        String padded = "  " + text + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private record Candidate(TickerAggregate entry, MatchType matchType, double score) {
+
+        TickerSuggestion toSuggestion() {
+            return TickerSuggestion.builder()
+                    .tickerSymbol(entry.getTickerSymbol())
+                    .market(entry.getMarket())
+                    .companyName(entry.getCompanyName())
+                    .matchType(matchType)
+                    .score(Math.round(score * 1000) / 1000.0)
+                    .recommendationCount(entry.getRecommendationCount())
+                    .openRecommendationCount(entry.getOpenRecommendationCount())
+                    .latestRecommendationDate(entry.getLatestRecommendationDate())
+                    .build();
+        }
+    }
+
+    private record SortedKeys(String[] keys, int[] ids) {
+
+        static SortedKeys of(List<String> keys, List<Integer> ids) {
+            Integer[] order = new Integer[keys.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(keys::get));
+            String[] sortedKeys = new String[order.length];
+            int[] sortedIds = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedKeys[i] = keys.get(order[i]);
+                sortedIds[i] = ids.get(order[i]);
+            }
+            return new SortedKeys(sortedKeys, sortedIds);
+        }
+
+        void forPrefix(String prefix, IntConsumer consumer) {
+            if (prefix.isEmpty()) {
+                return;
+            }
+            int position = Arrays.binarySearch(keys, prefix);
+            if (position < 0) {
+                position = -position - 1;
+            } else {
+                // Step back over equal keys so duplicates are all visited
+                while (position > 0 && keys[position - 1].equals(prefix)) {
+                    position--;
+                }
+            }
+            for (int i = position; i < keys.length && keys[i].startsWith(prefix); i++) {
+                consumer.accept(ids[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.confiance.investment.search;
+
+import com.confiance.common.dto.PageResponse;
+import com.confiance.common.enums.Market;
+import com.confiance.common.enums.RecommendationStatus;
+import com.confiance.investment.archive.RecommendationArchive;
+import com.confiance.investment.dto.RecommendationResponse;
+import com.confiance.investment.dto.TickerAggregate;
+import com.confiance.investment.dto.TickerSuggestion;
+import com.confiance.investment.event.RecommendationChangedEvent;
+import com.confiance.investment.repository.ArchivedRecommendationRepository;
+import com.confiance.investment.repository.RecommendationRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves typeahead suggestions from an in-memory TickerSearchIndex. A write that changes
+ * a ticker's name, market or open count marks the index stale. Other instances are told
+ * over Redis pub/sub. A scheduled task rebuilds from one aggregate query, so a burst of
+ * writes costs a single rebuild. Archived rows still count towards a ticker; their
+ * aggregates are cached and reloaded only after the archiver has moved rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TickerSearchService implements MessageListener {
+
+    private final RecommendationRepository recommendationRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ArchivedRecommendationRepository archivedRecommendationRepository;
+    private final RecommendationArchive archive;
+
+    @Value("${investment.search.channel:investment:search-invalidations}")
+    private String channel;
+
+    @Value("${investment.search.min-similarity:0.3}")
+    private double minSimilarity;
+
+    @Value("${investment.search.max-results:100}")
+    private int maxResults;
+
+    @Value("${investment.search.max-query-length:50}")
+    private int maxQueryLength;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    // Starts stale so the first scheduled run builds the index
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private volatile TickerSearchIndex index = TickerSearchIndex.EMPTY;
+    // Only touched by the scheduler thread
+    private List<TickerAggregate> archivedAggregates = List.of();
+    private LocalDateTime archivedAggregatesAt;
+
+    @Timed("investment.search")
+    public PageResponse<TickerSuggestion> search(String query, Market market, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query must not be blank");
+        }
+        if (page < 0 || size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must be >= 0 and size >= 1");
+        }
+        if (query.length() > maxQueryLength) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query must be at most " + maxQueryLength + " characters");
+        }
+
+        List<TickerSuggestion> ranked = index.search(query, market, minSimilarity, maxResults);
+        int from = Math.min(page * size, ranked.size());
+        int to = Math.min(from + size, ranked.size());
+        int totalPages = (ranked.size() + size - 1) / size;
+        return PageResponse.<TickerSuggestion>builder()
+                .content(ranked.subList(from, to))
+                .pageNumber(page)
+                .pageSize(size)
+                .totalElements(ranked.size())
+                .totalPages(totalPages)
+                .first(page == 0)
+                .last(page >= totalPages - 1)
+                .empty(from == to)
+                .build();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecommendationChanged(RecommendationChangedEvent event) {
+        if (!affectsIndex(event.getBefore(), event.getAfter())) {
+            return;
+        }
+        stale.set(true);
+        try {
+            redisTemplate.convertAndSend(channel, instanceId);
+        } catch (RuntimeException e) {
+            log.warn("Could not broadcast search index invalidation; other instances catch up on their next change", e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (!instanceId.equals(new String(message.getBody(), StandardCharsets.UTF_8))) {
+            stale.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${investment.search.refresh-interval-ms:1000}")
+    public void rebuildIfStale() {
+        boolean archiveMoved = !Objects.equals(archive.getLastArchivedAt(), archivedAggregatesAt);
+        if (!stale.getAndSet(false) && !archiveMoved) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            if (archiveMoved) {
+                LocalDateTime archivedAt = archive.getLastArchivedAt();
+                archivedAggregates = archivedAt != null ? archivedRecommendationRepository.aggregateTickers() : List.of();
+                archivedAggregatesAt = archivedAt;
+            }
+            TickerSearchIndex rebuilt = TickerSearchIndex.build(
+                    merge(recommendationRepository.aggregateTickers(RecommendationStatus.OPEN), archivedAggregates));
+            index = rebuilt;
+            log.debug("Rebuilt ticker search index: {} tickers in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            stale.set(true);
+            log.error("Failed to rebuild ticker search index", e);
+        }
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * Sums counts and keeps the latest date per (ticker, market). The live company name
+     * wins, since it reflects the most recent edits.
+     */
+    private static List<TickerAggregate> merge(List<TickerAggregate> live, List<TickerAggregate> archived) {
+        if (archived.isEmpty()) {
+            return live;
+        }
+        Map<String, TickerAggregate> merged = new LinkedHashMap<>();
+        for (TickerAggregate aggregate : live) {
+            merged.put(aggregate.getTickerSymbol() + ':' + aggregate.getMarket(), aggregate);
+        }
+        for (TickerAggregate old : archived) {
+            merged.merge(old.getTickerSymbol() + ':' + old.getMarket(), old, (current, other) -> new TickerAggregate(
+                    current.getTickerSymbol(),
+                    current.getMarket(),
+                    current.getCompanyName() != null ? current.getCompanyName() : other.getCompanyName(),
+                    current.getRecommendationCount() + other.getRecommendationCount(),
+                    current.getOpenRecommendationCount(),
+                    current.getLatestRecommendationDate().isAfter(other.getLatestRecommendationDate())
+                            ? current.getLatestRecommendationDate() : other.getLatestRecommendationDate()));
+        }
+        return List.copyOf(merged.values());
+    }
+
+    private boolean affectsIndex(RecommendationResponse before, RecommendationResponse after) {
+        if (before == null || after == null) {
+            return true;
+        }
+        return !Objects.equals(before.getTickerSymbol(), after.getTickerSymbol())
+                || !Objects.equals(before.getCompanyName(), after.getCompanyName())
+                || before.getMarket() != after.getMarket()
+                || before.getStatus() != after.getStatus()
+                || !Objects.equals(before.getRecommendationDate(), after.getRecommendationDate());
+    }
+}
@@ -0,0 +1,159 @@
+package com.confiance.investment.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Remembers the principal the wrapped JwtAuthenticationFilter resolved for a token, so
+ * repeat requests with the same token skip signature verification and claim parsing.
+ * Entries are keyed by the SHA-256 of the token (the token itself is never stored) and
+ * expire at the token's own exp claim, capped at maxTimeToLive. Tokens without a
+ * readable exp are never cached. On a miss the delegate runs unchanged, and whatever
+ * authentication it puts in the SecurityContext before continuing the chain is cached.
+ */
+@Slf4j
+public class CachingJwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final Filter delegate;
+    private final ObjectMapper objectMapper;
+    private final Duration maxTimeToLive;
+    private final Cache<String, CachedAuthentication> cache;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    public CachingJwtAuthenticationFilter(Filter delegate, ObjectMapper objectMapper, long maximumSize,
+                                          Duration maxTimeToLive, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.objectMapper = objectMapper;
+        this.maxTimeToLive = maxTimeToLive;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.creating((String key, CachedAuthentication value) -> value.timeToLive()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt-authentication");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = bearerToken(request);
+        if (token == null || SecurityContextHolder.getContext().getAuthentication() != null) {
+            delegate.doFilter(request, response, chain);
+            return;
+        }
+
+        String key = cacheKey(token);
+        CachedAuthentication cached = cache.getIfPresent(key);
+        if (cached != null) {
+            UsernamePasswordAuthenticationToken authentication =
+                    UsernamePasswordAuthenticationToken.authenticated(cached.principal(), null, cached.authorities());
+            authentication.setDetails(detailsSource.buildDetails(request));
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(authentication);
+            SecurityContextHolder.setContext(context);
+            chain.doFilter(request, response);
+            return;
+        }
+
+        delegate.doFilter(request, response, (req, res) -> {
+            remember(key, token, SecurityContextHolder.getContext().getAuthentication());
+            chain.doFilter(req, res);
+        });
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private void remember(String key, String token, Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return;
+        }
+        Instant expiresAt = expiresAt(token);
+        if (expiresAt == null) {
+            return;
+        }
+        Duration timeToLive = Duration.between(Instant.now(), expiresAt);
+        if (timeToLive.compareTo(maxTimeToLive) > 0) {
+            timeToLive = maxTimeToLive;
+        }
+        if (!timeToLive.isNegative() && !timeToLive.isZero()) {
+            cache.put(key, new CachedAuthentication(authentication.getPrincipal(),
+                    List.copyOf(authentication.getAuthorities()), timeToLive));
+        }
+    }
+
+    /**
+     * Reads exp from the payload without verifying it; the value is only trusted because
+     * the delegate already accepted this exact token.
+     */
+    private Instant expiresAt(String token) {
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (second < 0) {
+            return null;
+        }
+        try {
+            byte[] payload = Base64.getUrlDecoder().decode(token.substring(first + 1, second));
+            JsonNode exp = objectMapper.readTree(payload).get("exp");
+            return exp != null && exp.canConvertToLong() ? Instant.ofEpochSecond(exp.asLong()) : null;
+        } catch (IOException | IllegalArgumentException e) {
+            log.debug("Not caching token with unreadable payload", e);
+            return null;
+        }
+    }
+
+    private static String bearerToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX) || header.length() == BEARER_PREFIX.length()) {
+            return null;
+        }
+        return header.substring(BEARER_PREFIX.length());
+    }
+
+    static String cacheKey(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record CachedAuthentication(Object principal, Collection<? extends GrantedAuthority> authorities,
+                                        Duration timeToLive) {
+    }
+}
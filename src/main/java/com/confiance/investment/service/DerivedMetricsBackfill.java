@@ -0,0 +1,62 @@
+package com.confiance.investment.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-time backfill of the potential return/risk columns for rows written before they
+ * were persisted. The SQL matches Recommendation.calculateFields (ROUND is HALF_UP on DECIMAL).
+ * Runs in chunks so no single statement locks a large part of the table. Once every row is
+ * filled in, each run is a no-op.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "investment.backfill.derived-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class DerivedMetricsBackfill {
+
+    private static final String BACKFILL_RETURN =
+            "UPDATE recommendations " +
+            "SET potential_return = target_price - entry_price, " +
+            "    potential_return_percentage = ROUND(ROUND((target_price - entry_price) / entry_price, 4) * 100, 2) " +
+            "WHERE potential_return IS NULL AND target_price IS NOT NULL AND entry_price IS NOT NULL " +
+            "LIMIT ?";
+
+    private static final String BACKFILL_RISK =
+            "UPDATE recommendations " +
+            "SET potential_risk = entry_price - stop_loss " +
+            "WHERE potential_risk IS NULL AND stop_loss IS NOT NULL AND entry_price IS NOT NULL " +
+            "LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${investment.backfill.derived-metrics.chunk-size:1000}")
+    private int chunkSize;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int returns = runInChunks(BACKFILL_RETURN);
+        int risks = runInChunks(BACKFILL_RISK);
+        if (returns > 0 || risks > 0) {
+            log.info("Backfilled potential return on {} and potential risk on {} recommendations", returns, risks);
+        }
+    }
+
+    private int runInChunks(String sql) {
+        int total = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update(sql, chunkSize);
+            total += updated;
+        } while (updated == chunkSize);
+        return total;
+    }
+}
@@ -0,0 +1,125 @@
+package com.confiance.investment.service;
+
+import com.confiance.investment.event.RecommendationChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rebuilds recommendation_performance_summary with a single GROUP BY rollup executed inside
+ * MySQL. Writes only mark the summary dirty, so a burst of changes costs one rebuild per
+ * refresh interval. Dashboard reads never touch the recommendations table. The rollup
+ * spans recommendations_archive too; archiving moves rows without changing the totals.
+ * <p>
+ * The rollup is a plain SELECT (a non-locking consistent read) and only its result, one
+ * row per market, trade type and month, is written back. INSERT ... SELECT would take
+ * shared locks on every source row under REPEATABLE READ and block writes meanwhile.
+ */
+@Component
+@Slf4j
+public class PerformanceSummaryRefresher {
+
+    // Realized return sign flips for short calls (target below entry)
+    private static final String SIGNED_RETURN =
+            "(CASE WHEN target_price < entry_price THEN entry_price - sell_price ELSE sell_price - entry_price END)";
+
+    private static final String ROLLUP_COLUMNS =
+            "market, trade_type, recommendation_date, entry_price, target_price, sell_price, " +
+            "holding_period_days, risk_reward_ratio";
+
+    private static final String INSERT =
+            "INSERT INTO recommendation_performance_summary " +
+            "(market, trade_type, period_month, total_count, closed_count, hit_count, sum_return_percentage, " +
+            " holding_count, sum_holding_days, risk_reward_count, sum_risk_reward, " +
+            " rr_bucket_below_one, rr_bucket_one_to_two, rr_bucket_two_to_three, rr_bucket_three_plus, refreshed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Columns 1-15 of INSERT, in order
+    private static final int ROLLUP_COLUMN_COUNT = 15;
+
+    private static final String ROLLUP =
+            "SELECT market, trade_type, " +
+            "       DATE_SUB(recommendation_date, INTERVAL DAYOFMONTH(recommendation_date) - 1 DAY) AS period_month, " +
+            "       COUNT(*), " +
+            "       SUM(CASE WHEN sell_price IS NOT NULL THEN 1 ELSE 0 END), " +
+            "       SUM(CASE WHEN sell_price IS NOT NULL AND " + SIGNED_RETURN + " > 0 THEN 1 ELSE 0 END), " +
+            "       COALESCE(SUM(CASE WHEN sell_price IS NOT NULL THEN " + SIGNED_RETURN + " / entry_price * 100 END), 0), " +
+            "       COUNT(holding_period_days), " +
+            "       COALESCE(SUM(holding_period_days), 0), " +
+            "       COUNT(risk_reward_ratio), " +
+            "       COALESCE(SUM(risk_reward_ratio), 0), " +
+            "       SUM(CASE WHEN risk_reward_ratio < 1 THEN 1 ELSE 0 END), " +
+            "       SUM(CASE WHEN risk_reward_ratio >= 1 AND risk_reward_ratio < 2 THEN 1 ELSE 0 END), " +
+            "       SUM(CASE WHEN risk_reward_ratio >= 2 AND risk_reward_ratio < 3 THEN 1 ELSE 0 END), " +
+            "       SUM(CASE WHEN risk_reward_ratio >= 3 THEN 1 ELSE 0 END) " +
+            "FROM (" +
+            "  SELECT " + ROLLUP_COLUMNS + " FROM recommendations " +
+            "  UNION ALL " +
+            "  SELECT " + ROLLUP_COLUMNS + " FROM recommendations_archive" +
+            ") r " +
+            "GROUP BY market, trade_type, period_month";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Starts dirty so the first scheduled run builds the summary
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+
+    public PerformanceSummaryRefresher(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecommendationChanged(RecommendationChangedEvent event) {
+        dirty.set(true);
+    }
+
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${investment.analytics.refresh-interval-ms:30000}", initialDelay = 5000)
+    public void refreshIfDirty() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            dirty.set(true);
+            log.error("Failed to refresh recommendation performance summary", e);
+        }
+    }
+
+    /**
+     * Aggregates outside any transaction, then deletes and re-inserts in one short
+     * transaction so readers never observe an empty summary.
+     */
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        LocalDateTime refreshedAt = LocalDateTime.now();
+        List<Object[]> rows = jdbcTemplate.query(ROLLUP, (rs, rowNum) -> {
+            Object[] row = new Object[ROLLUP_COLUMN_COUNT + 1];
+            for (int column = 0; column < ROLLUP_COLUMN_COUNT; column++) {
+                row[column] = rs.getObject(column + 1);
+            }
+            row[ROLLUP_COLUMN_COUNT] = refreshedAt;
+            return row;
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM recommendation_performance_summary");
+            jdbcTemplate.batchUpdate(INSERT, rows);
+        });
+        log.info("Rebuilt recommendation performance summary: {} rows in {} ms", rows.size(), System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,135 @@
+package com.confiance.investment.service;
+
+import com.confiance.common.enums.Market;
+import com.confiance.common.enums.RecommendationType;
+import com.confiance.investment.dto.AnalyticsDimension;
+import com.confiance.investment.dto.PerformanceAnalyticsResponse;
+import com.confiance.investment.dto.PerformanceStats;
+import com.confiance.investment.entity.RecommendationPerformanceSummary;
+import com.confiance.investment.repository.RecommendationPerformanceSummaryRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+@Service
+@Timed("investment.service")
+@RequiredArgsConstructor
+public class RecommendationAnalyticsService {
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final RecommendationPerformanceSummaryRepository summaryRepository;
+    private final PerformanceSummaryRefresher summaryRefresher;
+
+    /**
+     * Re-aggregates the materialized monthly rollup along the requested dimension. The
+     * summary holds one row per (market, tradeType, month), so this is a small read.
+     */
+    @Transactional(readOnly = true)
+    public PerformanceAnalyticsResponse getPerformance(AnalyticsDimension groupBy, Market market,
+                                                       RecommendationType tradeType,
+                                                       LocalDate fromDate, LocalDate toDate) {
+        LocalDate fromMonth = fromDate != null ? fromDate.withDayOfMonth(1) : null;
+        Function<RecommendationPerformanceSummary, String> keyOf = switch (groupBy) {
+            case MARKET -> row -> row.getMarket().name();
+            case TRADE_TYPE -> row -> row.getTradeType().name();
+            case MONTH -> row -> row.getPeriodMonth().format(MONTH);
+        };
+
+        Map<String, Accumulator> groups = new TreeMap<>();
+        Accumulator overall = new Accumulator();
+        LocalDateTime refreshedAt = null;
+        for (RecommendationPerformanceSummary row : summaryRepository.findAll()) {
+            if ((market != null && row.getMarket() != market)
+                    || (tradeType != null && row.getTradeType() != tradeType)
+                    || (fromMonth != null && row.getPeriodMonth().isBefore(fromMonth))
+                    || (toDate != null && row.getPeriodMonth().isAfter(toDate))) {
+                continue;
+            }
+            groups.computeIfAbsent(keyOf.apply(row), key -> new Accumulator()).add(row);
+            overall.add(row);
+            if (refreshedAt == null || (row.getRefreshedAt() != null && row.getRefreshedAt().isAfter(refreshedAt))) {
+                refreshedAt = row.getRefreshedAt();
+            }
+        }
+
+        List<PerformanceStats> stats = new ArrayList<>(groups.size());
+        groups.forEach((key, accumulator) -> stats.add(accumulator.toStats(key)));
+        return PerformanceAnalyticsResponse.builder()
+                .groupBy(groupBy)
+                .overall(overall.toStats("ALL"))
+                .groups(stats)
+                .refreshedAt(refreshedAt)
+                .build();
+    }
+
+    public void refresh() {
+        summaryRefresher.refresh();
+    }
+
+    private static final class Accumulator {
+        private long total;
+        private long closed;
+        private long hits;
+        private BigDecimal sumReturn = BigDecimal.ZERO;
+        private long holdingCount;
+        private long sumHoldingDays;
+        private long riskRewardCount;
+        private BigDecimal sumRiskReward = BigDecimal.ZERO;
+        private long belowOne;
+        private long oneToTwo;
+        private long twoToThree;
+        private long threePlus;
+
+        void add(RecommendationPerformanceSummary row) {
+            total += row.getTotalCount();
+            closed += row.getClosedCount();
+            hits += row.getHitCount();
+            sumReturn = sumReturn.add(row.getSumReturnPercentage());
+            holdingCount += row.getHoldingCount();
+            sumHoldingDays += row.getSumHoldingDays();
+            riskRewardCount += row.getRiskRewardCount();
+            sumRiskReward = sumRiskReward.add(row.getSumRiskReward());
+            belowOne += row.getRrBucketBelowOne();
+            oneToTwo += row.getRrBucketOneToTwo();
+            twoToThree += row.getRrBucketTwoToThree();
+            threePlus += row.getRrBucketThreePlus();
+        }
+
+        PerformanceStats toStats(String key) {
+            Map<String, Long> distribution = new LinkedHashMap<>();
+            distribution.put("<1", belowOne);
+            distribution.put("1-2", oneToTwo);
+            distribution.put("2-3", twoToThree);
+            distribution.put("3+", threePlus);
+
+            return PerformanceStats.builder()
+                    .key(key)
+                    .totalRecommendations(total)
+                    .closedRecommendations(closed)
+                    .hitRate(average(BigDecimal.valueOf(hits * 100), closed))
+                    .averageReturnPercentage(average(sumReturn, closed))
+                    .averageHoldingPeriodDays(average(BigDecimal.valueOf(sumHoldingDays), holdingCount))
+                    .averageRiskRewardRatio(average(sumRiskReward, riskRewardCount))
+                    .riskRewardDistribution(distribution)
+                    .build();
+        }
+
+        private static BigDecimal average(BigDecimal sum, long count) {
+            return count == 0 ? null : sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.confiance.investment.service;
+
+import com.confiance.common.enums.Market;
+import com.confiance.common.enums.RecommendationStatus;
+import com.confiance.investment.archive.RecommendationArchive;
+import com.confiance.investment.entity.Recommendation;
+import com.confiance.investment.export.CsvExportWriter;
+import com.confiance.investment.export.ExportFormat;
+import com.confiance.investment.export.NdjsonExportWriter;
+import com.confiance.investment.export.RecommendationExportWriter;
+import com.confiance.investment.repository.RecommendationRepository;
+import com.confiance.investment.repository.RecommendationSpecifications;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Timed("investment.service")
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendationExportService {
+
+    // Primary key order lets MySQL stream straight off the clustered index
+    private static final Sort EXPORT_ORDER = Sort.by("id");
+
+    private final RecommendationRepository recommendationRepository;
+    private final ObjectMapper objectMapper;
+    private final RecommendationArchive archive;
+
+    /**
+     * Writes every matching recommendation to the output stream as it is read. Memory use
+     * does not depend on the number of rows. Runs in one read-only transaction so the
+     * result set stays open for the whole export. Archived rows, when the filter can reach
+     * them, follow the live ones; each part is in id order.
+     */
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, Market market, RecommendationStatus status,
+                       LocalDate fromDate, LocalDate toDate, OutputStream outputStream) throws IOException {
+        Specification<Recommendation> spec = RecommendationSpecifications.withFilters(market, status)
+                .and(RecommendationSpecifications.recommendedBetween(fromDate, toDate));
+
+        long rows;
+        try (RecommendationExportWriter writer = createWriter(format, outputStream)) {
+            try (Stream<Recommendation> recommendations = recommendationRepository.streamAll(spec, EXPORT_ORDER)) {
+                rows = write(recommendations, writer);
+            }
+            if (archive.mayContain(status, fromDate)) {
+                // MySQL allows one open streaming result set per connection, so the parts run one after the other
+                try (Stream<Recommendation> archived = recommendationRepository.streamArchived(spec, EXPORT_ORDER)) {
+                    rows += write(archived, writer);
+                }
+            }
+        }
+        log.info("Exported {} recommendations as {}", rows, format);
+        return rows;
+    }
+
+    private static long write(Stream<Recommendation> recommendations, RecommendationExportWriter writer) throws IOException {
+        long rows = 0;
+        Iterator<Recommendation> iterator = recommendations.iterator();
+        while (iterator.hasNext()) {
+            writer.write(iterator.next());
+            rows++;
+        }
+        return rows;
+    }
+
+    private RecommendationExportWriter createWriter(ExportFormat format, OutputStream outputStream) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonExportWriter(objectMapper.getFactory(), outputStream);
+            case CSV -> new CsvExportWriter(outputStream);
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.confiance.investment.service;
+
+import com.confiance.common.dto.PageResponse;
+import com.confiance.investment.dto.RecommendationHistoryResponse;
+import com.confiance.investment.dto.RecommendationResponse;
+import com.confiance.investment.entity.RecommendationHistory;
+import com.confiance.investment.repository.RecommendationHistoryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+@Timed("investment.service")
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendationHistoryService {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("occurredAt"), Sort.Order.desc("id"));
+
+    private final RecommendationHistoryRepository historyRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * History is written behind the request, so the most recent change can take up to one
+     * flush interval to appear. Entries outlive the recommendation itself.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<RecommendationHistoryResponse> getHistory(Long recommendationId, int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must be >= 0 and size >= 1");
+        }
+        Page<RecommendationHistory> history = historyRepository.findByRecommendationId(
+                recommendationId, PageRequest.of(page, size, NEWEST_FIRST));
+        return PageResponse.<RecommendationHistoryResponse>builder()
+                .content(history.getContent().stream().map(this::toResponse).toList())
+                .pageNumber(history.getNumber())
+                .pageSize(history.getSize())
+                .totalElements(history.getTotalElements())
+                .totalPages(history.getTotalPages())
+                .last(history.isLast())
+                .first(history.isFirst())
+                .empty(history.isEmpty())
+                .build();
+    }
+
+    private RecommendationHistoryResponse toResponse(RecommendationHistory entry) {
+        return RecommendationHistoryResponse.builder()
+                .id(entry.getId())
+                .recommendationId(entry.getRecommendationId())
+                .changeType(entry.getChangeType())
+                .changedFields(entry.getChangedFields() == null ? List.of()
+                        : Arrays.asList(entry.getChangedFields().split(",")))
+                .before(readSnapshot(entry.getBeforeSnapshot(), entry.getId()))
+                .after(readSnapshot(entry.getAfterSnapshot(), entry.getId()))
+                .occurredAt(entry.getOccurredAt())
+                .build();
+    }
+
+    private RecommendationResponse readSnapshot(String json, Long historyId) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, RecommendationResponse.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable snapshot in history entry {}", historyId, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.confiance.investment.service;
+
+import com.confiance.common.dto.PageResponse;
+import com.confiance.investment.dto.CursorPageResponse;
+import com.confiance.investment.dto.RecommendationResponse;
+import com.confiance.investment.dto.RecommendationSummary;
+import com.confiance.investment.entity.Recommendation;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Entity/projection to response mapping. Stateless and public so the benchmarks module
+ * can measure the per-request cost of these paths directly.
+ */
+@Component
+public class RecommendationMapper {
+
+    public RecommendationResponse toResponse(Recommendation r) {
+        return RecommendationResponse.builder()
+                .id(r.getId())
+                .market(r.getMarket())
+                .currency(r.getCurrency())
+                .tickerSymbol(r.getTickerSymbol())
+                .companyName(r.getCompanyName())
+                .tradeType(r.getTradeType())
+                .recommendationDate(r.getRecommendationDate())
+                .entryPrice(r.getEntryPrice())
+                .targetPrice(r.getTargetPrice())
+                .stopLoss(r.getStopLoss())
+                .riskRewardRatio(r.getRiskRewardRatio())
+                .potentialReturn(r.getPotentialReturn())
+                .potentialReturnPercentage(r.getPotentialReturnPercentage())
+                .potentialRisk(r.getPotentialRisk())
+                .sellPrice(r.getSellPrice())
+                .exitDate(r.getExitDate())
+                .holdingPeriodDays(r.getHoldingPeriodDays())
+                .status(r.getStatus())
+                .remarks(r.getRemarks())
+                .createdByUserId(r.getCreatedByUserId())
+                .createdAt(r.getCreatedAt())
+                .updatedAt(r.getUpdatedAt())
+                .build();
+    }
+
+    public RecommendationResponse toResponse(RecommendationSummary r) {
+        return RecommendationResponse.builder()
+                .id(r.getId())
+                .market(r.getMarket())
+                .currency(r.getCurrency())
+                .tickerSymbol(r.getTickerSymbol())
+                .companyName(r.getCompanyName())
+                .tradeType(r.getTradeType())
+                .recommendationDate(r.getRecommendationDate())
+                .entryPrice(r.getEntryPrice())
+                .targetPrice(r.getTargetPrice())
+                .stopLoss(r.getStopLoss())
+                .riskRewardRatio(r.getRiskRewardRatio())
+                .potentialReturn(r.getPotentialReturn())
+                .potentialReturnPercentage(r.getPotentialReturnPercentage())
+                .potentialRisk(r.getPotentialRisk())
+                .sellPrice(r.getSellPrice())
+                .exitDate(r.getExitDate())
+                .holdingPeriodDays(r.getHoldingPeriodDays())
+                .status(r.getStatus())
+                .remarks(r.getRemarks())
+                .createdByUserId(r.getCreatedByUserId())
+                .createdAt(r.getCreatedAt())
+                .updatedAt(r.getUpdatedAt())
+                .build();
+    }
+
+    @Timed("investment.mapping")
+    public PageResponse<RecommendationResponse> buildPageResponse(Page<RecommendationSummary> page) {
+        return PageResponse.<RecommendationResponse>builder()
+                .content(page.getContent().stream().map(this::toResponse).toList())
+                .pageNumber(page.getNumber())
+                .pageSize(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .last(page.isLast())
+                .first(page.isFirst())
+                .empty(page.isEmpty())
+                .build();
+    }
+
+    @Timed("investment.mapping")
+    public CursorPageResponse<RecommendationResponse> buildCursorResponse(Slice<RecommendationSummary> slice, Long totalElements) {
+        List<RecommendationSummary> content = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !content.isEmpty()) {
+            RecommendationSummary last = content.get(content.size() - 1);
+            nextCursor = new RecommendationCursor(last.getRecommendationDate(), last.getId()).encode();
+        }
+
+        return CursorPageResponse.<RecommendationResponse>builder()
+                .content(content.stream().map(this::toResponse).toList())
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .nextCursor(nextCursor)
+                .totalElements(totalElements)
+                .build();
+    }
+}
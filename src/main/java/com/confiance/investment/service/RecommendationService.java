@@ -4,55 +4,117 @@ import com.confiance.common.dto.PageResponse;
 import com.confiance.common.enums.Market;
 import com.confiance.common.enums.RecommendationStatus;
 import com.confiance.common.exception.ResourceNotFoundException;
+import com.confiance.investment.archive.RecommendationArchive;
+import com.confiance.investment.cache.CacheNames;
+import com.confiance.investment.dto.CursorPageResponse;
+import com.confiance.investment.dto.RecommendationBatchItemResult;
+import com.confiance.investment.dto.RecommendationBatchResponse;
 import com.confiance.investment.dto.RecommendationRequest;
 import com.confiance.investment.dto.RecommendationResponse;
+import com.confiance.investment.dto.RecommendationStatusUpdate;
+import com.confiance.investment.dto.RecommendationSummary;
+import com.confiance.investment.entity.ArchivedRecommendation;
 import com.confiance.investment.entity.Recommendation;
+import com.confiance.investment.event.RecommendationChangedEvent;
+import com.confiance.investment.repository.ArchivedRecommendationRepository;
 import com.confiance.investment.repository.RecommendationRepository;
+import com.confiance.investment.repository.RecommendationSpecifications;
+import com.confiance.investment.singleflight.CoalesceConcurrentCalls;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
+@Timed("investment.service")
 @RequiredArgsConstructor
 @Slf4j
 public class RecommendationService {
 
+    // Matches the trailing (recommendationDate, id) columns of the composite indexes
+    private static final Sort LATEST_FIRST = Sort.by(Sort.Order.desc("recommendationDate"), Sort.Order.desc("id"));
+
     private final RecommendationRepository recommendationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final RecommendationMapper recommendationMapper;
+    private final ArchivedRecommendationRepository archivedRecommendationRepository;
+    private final RecommendationArchive archive;
+
+    @Value("${investment.batch.max-size:500}")
+    private int maxBatchSize;
+
+    // Offset pages that merge in archived rows are assembled in memory; deeper pages are refused
+    @Value("${investment.archive.max-merged-rows:10000}")
+    private int maxMergedRows;
 
     @Transactional
     public RecommendationResponse createRecommendation(RecommendationRequest request, Long userId) {
         log.info("Creating recommendation for ticker: {} by user: {}", request.getTickerSymbol(), userId);
 
-        Recommendation recommendation = Recommendation.builder()
-                .market(request.getMarket())
-                .currency(request.getCurrency())
-                .tickerSymbol(request.getTickerSymbol().toUpperCase())
-                .companyName(request.getCompanyName())
-                .tradeType(request.getTradeType())
-                .recommendationDate(request.getRecommendationDate() != null ?
-                        request.getRecommendationDate() : LocalDate.now())
-                .entryPrice(request.getEntryPrice())
-                .targetPrice(request.getTargetPrice())
-                .stopLoss(request.getStopLoss())
-                .sellPrice(request.getSellPrice())
-                .exitDate(request.getExitDate())
-                .status(request.getStatus() != null ? request.getStatus() : RecommendationStatus.OPEN)
-                .remarks(request.getRemarks())
-                .createdByUserId(userId)
-                .build();
+        Recommendation saved = recommendationRepository.save(toEntity(request, userId));
+        RecommendationResponse response = recommendationMapper.toResponse(saved);
+        eventPublisher.publishEvent(RecommendationChangedEvent.created(response));
+        return response;
+    }
 
-        Recommendation saved = recommendationRepository.save(recommendation);
-        return toResponse(saved);
+    /**
+     * Creates every valid request in one transaction. Invalid items are reported
+     * per index and skipped. All valid inserts go to the database as JDBC batches.
+     */
+    @Transactional
+    public RecommendationBatchResponse createRecommendations(List<RecommendationRequest> requests, Long userId) {
+        checkBatchSize(requests);
+        log.info("Creating {} recommendations in batch by user: {}", requests.size(), userId);
+
+        RecommendationBatchItemResult[] results = new RecommendationBatchItemResult[requests.size()];
+        List<Recommendation> toSave = new ArrayList<>(requests.size());
+        List<Integer> toSaveIndexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            RecommendationRequest request = requests.get(i);
+            List<String> errors = validate(request);
+            if (errors.isEmpty()) {
+                toSave.add(toEntity(request, userId));
+                toSaveIndexes.add(i);
+            } else {
+                results[i] = RecommendationBatchItemResult.failure(i, errors);
+            }
+        }
+
+        List<Recommendation> saved = recommendationRepository.saveAll(toSave);
+        for (int i = 0; i < saved.size(); i++) {
+            RecommendationResponse response = recommendationMapper.toResponse(saved.get(i));
+            results[toSaveIndexes.get(i)] = RecommendationBatchItemResult.success(toSaveIndexes.get(i), response);
+            eventPublisher.publishEvent(RecommendationChangedEvent.created(response));
+        }
+        return RecommendationBatchResponse.of(Arrays.asList(results));
     }
 
     @Transactional
@@ -60,6 +122,7 @@ public class RecommendationService {
         log.info("Updating recommendation: {}", id);
 
         Recommendation recommendation = findById(id);
+        RecommendationResponse before = recommendationMapper.toResponse(recommendation);
 
         if (request.getMarket() != null) recommendation.setMarket(request.getMarket());
         if (request.getCurrency() != null) recommendation.setCurrency(request.getCurrency());
@@ -76,102 +139,279 @@ public class RecommendationService {
         if (request.getRemarks() != null) recommendation.setRemarks(request.getRemarks());
 
         Recommendation saved = recommendationRepository.save(recommendation);
-        return toResponse(saved);
+        RecommendationResponse response = recommendationMapper.toResponse(saved);
+        eventPublisher.publishEvent(RecommendationChangedEvent.updated(before, response));
+        return response;
+    }
+
+    /**
+     * Applies status/exit updates in one transaction. Loads all targets with a single query
+     * and flushes the changes as batched UPDATEs. Unknown ids are reported per item.
+     */
+    @Transactional
+    public RecommendationBatchResponse updateRecommendationStatuses(List<RecommendationStatusUpdate> updates) {
+        checkBatchSize(updates);
+        log.info("Updating status of {} recommendations in batch", updates.size());
+        return applyStatusUpdates(updates, null);
+    }
+
+    /**
+     * Closes recommendations whose target or stop-loss was crossed by the price feed. Items
+     * that are no longer OPEN (e.g. closed by an admin in the meantime) are left untouched.
+     */
+    @Transactional
+    public RecommendationBatchResponse applyPriceTriggers(List<RecommendationStatusUpdate> triggers) {
+        log.info("Applying {} price-triggered status changes", triggers.size());
+        return applyStatusUpdates(triggers, RecommendationStatus.OPEN);
     }
 
+    private RecommendationBatchResponse applyStatusUpdates(List<RecommendationStatusUpdate> updates,
+                                                          RecommendationStatus requiredStatus) {
+        Set<Long> ids = new HashSet<>();
+        for (RecommendationStatusUpdate update : updates) {
+            if (update != null && update.getId() != null) ids.add(update.getId());
+        }
+        Map<Long, Recommendation> recommendations = new HashMap<>();
+        for (Recommendation recommendation : recommendationRepository.findAllById(ids)) {
+            recommendations.put(recommendation.getId(), recommendation);
+        }
+        Set<Long> archivedIds = new HashSet<>();
+        if (recommendations.size() < ids.size() && archive.mayContain(null, null)) {
+            ids.removeAll(recommendations.keySet());
+            archivedRecommendationRepository.findAllById(ids).forEach(archived -> archivedIds.add(archived.getId()));
+        }
+
+        RecommendationBatchItemResult[] results = new RecommendationBatchItemResult[updates.size()];
+        Map<Long, RecommendationResponse> before = new HashMap<>();
+        Map<Long, List<Integer>> indexes = new LinkedHashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            RecommendationStatusUpdate update = updates.get(i);
+            List<String> errors = validate(update);
+            Recommendation recommendation = update != null ? recommendations.get(update.getId()) : null;
+            if (errors.isEmpty() && recommendation == null) {
+                errors = List.of(archivedIds.contains(update.getId())
+                        ? archivedMessage(update.getId())
+                        : "Recommendation not found with id: " + update.getId());
+            } else if (errors.isEmpty() && requiredStatus != null && recommendation.getStatus() != requiredStatus) {
+                errors = List.of("Recommendation " + update.getId() + " is no longer " + requiredStatus);
+            }
+            if (!errors.isEmpty()) {
+                results[i] = RecommendationBatchItemResult.failure(i, errors);
+                continue;
+            }
+
+            before.computeIfAbsent(recommendation.getId(), id -> recommendationMapper.toResponse(recommendation));
+            indexes.computeIfAbsent(recommendation.getId(), id -> new ArrayList<>()).add(i);
+            if (update.getStatus() != null) recommendation.setStatus(update.getStatus());
+            if (update.getSellPrice() != null) recommendation.setSellPrice(update.getSellPrice());
+            if (update.getExitDate() != null) recommendation.setExitDate(update.getExitDate());
+        }
+
+        // Flush so @PreUpdate derived fields and updatedAt are reflected in the results
+        recommendationRepository.saveAllAndFlush(indexes.keySet().stream().map(recommendations::get).toList());
+        indexes.forEach((id, itemIndexes) -> {
+            RecommendationResponse response = recommendationMapper.toResponse(recommendations.get(id));
+            itemIndexes.forEach(i -> results[i] = RecommendationBatchItemResult.success(i, response));
+            eventPublisher.publishEvent(RecommendationChangedEvent.updated(before.get(id), response));
+        });
+        return RecommendationBatchResponse.of(Arrays.asList(results));
+    }
+
+    @Cacheable(cacheNames = CacheNames.RECOMMENDATION, key = "#id")
+    @Transactional(readOnly = true)
     public RecommendationResponse getRecommendationById(Long id) {
-        return toResponse(findById(id));
+        Optional<Recommendation> recommendation = recommendationRepository.findById(id);
+        if (recommendation.isEmpty() && archive.mayContain(null, null)) {
+            recommendation = archivedRecommendationRepository.findById(id).map(ArchivedRecommendation::toRecommendation);
+        }
+        return recommendationMapper.toResponse(recommendation
+                .orElseThrow(() -> new ResourceNotFoundException("Recommendation", "id", id)));
     }
 
+    @CoalesceConcurrentCalls
+    @Transactional(readOnly = true)
     public PageResponse<RecommendationResponse> getAllRecommendations(int page, int size, String sortBy, String sortDirection) {
         Sort sort = sortDirection.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Recommendation> recommendationPage = recommendationRepository.findAll(pageable);
-        return buildPageResponse(recommendationPage);
+        return recommendationMapper.buildPageResponse(findSummaries(Specification.where(null), pageable, null));
     }
 
+    @CoalesceConcurrentCalls
+    @Cacheable(cacheNames = CacheNames.FILTERED_RECOMMENDATIONS,
+            key = "#market + ':' + #status + ':' + #minReturnPercentage + ':' + #minRiskRewardRatio + ':' + #page + ':' + #size + ':' + @recommendationVersionTracker.currentVersion()")
+    @Transactional(readOnly = true)
     public PageResponse<RecommendationResponse> getRecommendationsWithFilters(
-            Market market, RecommendationStatus status, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Recommendation> recommendationPage = recommendationRepository.findWithFilters(market, status, pageable);
-        return buildPageResponse(recommendationPage);
+            Market market, RecommendationStatus status, BigDecimal minReturnPercentage,
+            BigDecimal minRiskRewardRatio, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, LATEST_FIRST);
+        return recommendationMapper.buildPageResponse(findSummaries(
+                RecommendationSpecifications.withFilters(market, status, minReturnPercentage, minRiskRewardRatio), pageable, status));
     }
 
+    @CoalesceConcurrentCalls
+    @Cacheable(cacheNames = CacheNames.OPEN_RECOMMENDATIONS, key = "#page + ':' + #size + ':' + @recommendationVersionTracker.currentVersion()")
+    @Transactional(readOnly = true)
     public PageResponse<RecommendationResponse> getOpenRecommendations(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("recommendationDate").descending());
-        Page<Recommendation> recommendationPage = recommendationRepository.findByStatus(RecommendationStatus.OPEN, pageable);
-        return buildPageResponse(recommendationPage);
+        Pageable pageable = PageRequest.of(page, size, LATEST_FIRST);
+        return recommendationMapper.buildPageResponse(recommendationRepository.findSummaries(
+                RecommendationSpecifications.hasStatus(RecommendationStatus.OPEN), pageable));
     }
 
+    @CoalesceConcurrentCalls
+    @Cacheable(cacheNames = CacheNames.MARKET_RECOMMENDATIONS, key = "#market + ':' + #page + ':' + #size + ':' + @recommendationVersionTracker.currentVersion()")
+    @Transactional(readOnly = true)
     public PageResponse<RecommendationResponse> getRecommendationsByMarket(Market market, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("recommendationDate").descending());
-        Page<Recommendation> recommendationPage = recommendationRepository.findByMarket(market, pageable);
-        return buildPageResponse(recommendationPage);
+        Pageable pageable = PageRequest.of(page, size, LATEST_FIRST);
+        return recommendationMapper.buildPageResponse(findSummaries(
+                RecommendationSpecifications.hasMarket(market), pageable, null));
+    }
+
+    @CoalesceConcurrentCalls
+    @Transactional(readOnly = true)
+    public CursorPageResponse<RecommendationResponse> getAllRecommendationsByCursor(
+            String cursor, int size, boolean includeTotal) {
+        return scroll(Specification.where(null), null, cursor, size, includeTotal);
+    }
+
+    @CoalesceConcurrentCalls
+    @Transactional(readOnly = true)
+    public CursorPageResponse<RecommendationResponse> getOpenRecommendationsByCursor(
+            String cursor, int size, boolean includeTotal) {
+        return scroll(RecommendationSpecifications.hasStatus(RecommendationStatus.OPEN), RecommendationStatus.OPEN,
+                cursor, size, includeTotal);
+    }
+
+    @CoalesceConcurrentCalls
+    @Transactional(readOnly = true)
+    public CursorPageResponse<RecommendationResponse> getRecommendationsByMarketByCursor(
+            Market market, String cursor, int size, boolean includeTotal) {
+        return scroll(RecommendationSpecifications.hasMarket(market), null, cursor, size, includeTotal);
     }
 
     @Transactional
     public void deleteRecommendation(Long id) {
         Recommendation recommendation = findById(id);
+        RecommendationResponse before = recommendationMapper.toResponse(recommendation);
         recommendationRepository.delete(recommendation);
+        eventPublisher.publishEvent(RecommendationChangedEvent.deleted(before));
     }
 
-    private Recommendation findById(Long id) {
-        return recommendationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Recommendation", "id", id));
-    }
-
-    private RecommendationResponse toResponse(Recommendation r) {
-        RecommendationResponse response = RecommendationResponse.builder()
-                .id(r.getId())
-                .market(r.getMarket())
-                .currency(r.getCurrency())
-                .tickerSymbol(r.getTickerSymbol())
-                .companyName(r.getCompanyName())
-                .tradeType(r.getTradeType())
-                .recommendationDate(r.getRecommendationDate())
-                .entryPrice(r.getEntryPrice())
-                .targetPrice(r.getTargetPrice())
-                .stopLoss(r.getStopLoss())
-                .riskRewardRatio(r.getRiskRewardRatio())
-                .sellPrice(r.getSellPrice())
-                .exitDate(r.getExitDate())
-                .holdingPeriodDays(r.getHoldingPeriodDays())
-                .status(r.getStatus())
-                .remarks(r.getRemarks())
-                .createdByUserId(r.getCreatedByUserId())
-                .createdAt(r.getCreatedAt())
-                .updatedAt(r.getUpdatedAt())
+    private Recommendation toEntity(RecommendationRequest request, Long userId) {
+        return Recommendation.builder()
+                .market(request.getMarket())
+                .currency(request.getCurrency())
+                .tickerSymbol(request.getTickerSymbol().toUpperCase())
+                .companyName(request.getCompanyName())
+                .tradeType(request.getTradeType())
+                .recommendationDate(request.getRecommendationDate() != null ?
+                        request.getRecommendationDate() : LocalDate.now())
+                .entryPrice(request.getEntryPrice())
+                .targetPrice(request.getTargetPrice())
+                .stopLoss(request.getStopLoss())
+                .sellPrice(request.getSellPrice())
+                .exitDate(request.getExitDate())
+                .status(request.getStatus() != null ? request.getStatus() : RecommendationStatus.OPEN)
+                .remarks(request.getRemarks())
+                .createdByUserId(userId)
                 .build();
+    }
 
-        // Calculate additional fields
-        if (r.getTargetPrice() != null && r.getEntryPrice() != null) {
-            BigDecimal potentialReturn = r.getTargetPrice().subtract(r.getEntryPrice());
-            response.setPotentialReturn(potentialReturn);
-            response.setPotentialReturnPercentage(
-                    potentialReturn.divide(r.getEntryPrice(), 4, RoundingMode.HALF_UP)
-                            .multiply(BigDecimal.valueOf(100)).setScale(2, RoundingMode.HALF_UP)
-            );
+    private void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch must contain at least one item");
+        }
+        if (items.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Batch size " + items.size() + " exceeds the maximum of " + maxBatchSize);
         }
+    }
 
-        if (r.getEntryPrice() != null && r.getStopLoss() != null) {
-            response.setPotentialRisk(r.getEntryPrice().subtract(r.getStopLoss()));
+    private List<String> validate(Object item) {
+        if (item == null) {
+            return List.of("Item must not be null");
         }
+        return validator.validate(item).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+    }
 
-        return response;
+    /**
+     * Live row for a write. Archived rows are read-only, so writes to one are a conflict
+     * rather than a 404.
+     */
+    private Recommendation findById(Long id) {
+        return recommendationRepository.findById(id).orElseThrow(() -> {
+            if (archive.mayContain(null, null) && archivedRecommendationRepository.existsById(id)) {
+                return new ResponseStatusException(HttpStatus.CONFLICT, archivedMessage(id));
+            }
+            return new ResourceNotFoundException("Recommendation", "id", id);
+        });
     }
 
-    private PageResponse<RecommendationResponse> buildPageResponse(Page<Recommendation> page) {
-        return PageResponse.<RecommendationResponse>builder()
-                .content(page.getContent().stream().map(this::toResponse).toList())
-                .pageNumber(page.getNumber())
-                .pageSize(page.getSize())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .last(page.isLast())
-                .first(page.isFirst())
-                .empty(page.isEmpty())
-                .build();
+    private static String archivedMessage(Long id) {
+        return "Recommendation " + id + " is archived and read-only";
+    }
+
+    private Page<RecommendationSummary> findSummaries(Specification<Recommendation> spec, Pageable pageable,
+                                                      RecommendationStatus status) {
+        if (!archive.mayContain(status, null)) {
+            return recommendationRepository.findSummaries(spec, pageable);
+        }
+        if (startsLatestFirst(pageable.getSort())) {
+            Slice<RecommendationSummary> live = recommendationRepository.findSummarySlice(spec, pageable);
+            if (precedesArchive(live, status)) {
+                return new PageImpl<>(live.getContent(), pageable, recommendationRepository.countIncludingArchive(spec));
+            }
+        }
+        if (pageable.getOffset() + pageable.getPageSize() > maxMergedRows) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Pages beyond the first " + maxMergedRows
+                    + " rows are not available when archived recommendations are included; use the cursor endpoints");
+        }
+        try {
+            return recommendationRepository.findSummariesIncludingArchive(spec, pageable);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Archived rows are all older than the archive horizon. In newest-first order, a full
+     * live page whose last row is newer than that horizon is therefore already the merged
+     * page, and the archive table is not read.
+     */
+    private boolean precedesArchive(Slice<RecommendationSummary> live, RecommendationStatus status) {
+        List<RecommendationSummary> content = live.getContent();
+        return content.size() == live.getSize()
+                && !archive.mayContain(status, content.get(content.size() - 1).getRecommendationDate());
+    }
+
+    private static boolean startsLatestFirst(Sort sort) {
+        Sort.Order first = sort.stream().findFirst().orElse(null);
+        return first != null && first.isDescending() && first.getProperty().equals("recommendationDate");
+    }
+
+    /**
+     * Keyset scrolling stays cheap with the archive: both tables seek on the same
+     * (recommendationDate, id) position and return at most size + 1 rows each.
+     */
+    private CursorPageResponse<RecommendationResponse> scroll(Specification<Recommendation> filter, RecommendationStatus status,
+                                                             String cursor, int size, boolean includeTotal) {
+        RecommendationCursor position = RecommendationCursor.decode(cursor);
+        Specification<Recommendation> spec = position == null ? filter
+                : filter.and(RecommendationSpecifications.before(position.getRecommendationDate(), position.getId()));
+        Pageable pageable = PageRequest.of(0, size, LATEST_FIRST);
+        if (!archive.mayContain(status, null)) {
+            Slice<RecommendationSummary> slice = recommendationRepository.findSummarySlice(spec, pageable);
+            return recommendationMapper.buildCursorResponse(slice, includeTotal ? recommendationRepository.count(filter) : null);
+        }
+        Slice<RecommendationSummary> slice = recommendationRepository.findSummarySlice(spec, pageable);
+        if (!precedesArchive(slice, status)) {
+            slice = recommendationRepository.findSummarySliceIncludingArchive(spec, pageable);
+        }
+        return recommendationMapper.buildCursorResponse(slice,
+                includeTotal ? recommendationRepository.countIncludingArchive(filter) : null);
     }
 }
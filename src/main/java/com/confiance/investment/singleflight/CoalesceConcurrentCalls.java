@@ -0,0 +1,19 @@
+package com.confiance.investment.singleflight;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Concurrent calls to the annotated method with equal arguments share one execution: the
+ * first caller runs it, the others wait for and receive the same result (or exception).
+ * Only for read methods whose arguments fully determine the result and whose result is
+ * never mutated by callers. See SingleFlightAspect.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CoalesceConcurrentCalls {
+}
@@ -0,0 +1,113 @@
+package com.confiance.investment.singleflight;
+
+import com.confiance.investment.datasource.ReadYourWrites;
+import com.confiance.investment.stream.RecommendationVersionTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process single flight for @CoalesceConcurrentCalls methods. When a burst of identical
+ * list requests misses the cache at the same time, one of them (the leader) runs the
+ * query and count, and the rest share its result instead of each taking a connection.
+ * Runs outside the cache, transaction and timing advice, so followers never reach them.
+ * Nothing is kept once the leader finishes: a call arriving after that starts a new flight.
+ * Calls only share a flight started under the same collection version, so a request that
+ * already sent a newer list ETag never receives a result queried before that write.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SingleFlightAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final RecommendationVersionTracker versionTracker;
+    private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Method, FlightCounters> counters = new ConcurrentHashMap<>();
+
+    @Value("${investment.coalesce.enabled:true}")
+    private boolean enabled;
+
+    public SingleFlightAspect(MeterRegistry meterRegistry, RecommendationVersionTracker versionTracker) {
+        this.meterRegistry = meterRegistry;
+        this.versionTracker = versionTracker;
+        Gauge.builder("investment.coalesce.in-flight", inFlight, Map::size)
+                .description("Distinct coalesced calls currently executing")
+                .register(meterRegistry);
+    }
+
+    @Around("@annotation(com.confiance.investment.singleflight.CoalesceConcurrentCalls)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        // A request pinned to the primary must not receive a result read from a replica
+        FlightKey key = new FlightKey(method, Arrays.asList(joinPoint.getArgs().clone()),
+                ReadYourWrites.isPinnedToPrimary(), versionTracker.currentVersion());
+        FlightCounters methodCounters = counters.computeIfAbsent(method, this::createCounters);
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            methodCounters.shared.increment();
+            return await(existing);
+        }
+
+        methodCounters.leader.increment();
+        try {
+            Object result = joinPoint.proceed();
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) throws Throwable {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Followers see the leader's exception as if they had thrown it themselves
+            throw e.getCause() != null ? e.getCause() : e;
+        }
+    }
+
+    private FlightCounters createCounters(Method method) {
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        return new FlightCounters(callCounter(name, "leader"), callCounter(name, "shared"));
+    }
+
+    private Counter callCounter(String method, String role) {
+        return Counter.builder("investment.coalesce.calls")
+                .description("Coalesced method calls; role=shared calls reused a concurrent leader's result")
+                .tag("method", method)
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    private record FlightKey(Method method, List<Object> args, boolean primaryOnly, String collectionVersion) {
+    }
+
+    private record FlightCounters(Counter leader, Counter shared) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.confiance.investment.stream;
+
+public enum RecommendationStreamEventType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    DELETED
+}
@@ -0,0 +1,427 @@
+package com.confiance.investment.stream;
+
+import com.confiance.common.enums.Market;
+import com.confiance.investment.dto.RecommendationStreamEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds this instance's SSE subscribers and a bounded buffer of recent events for
+ * Last-Event-ID resume.
+ * <p>
+ * Ids come from one Redis INCR, but each instance publishes after its own commit, so
+ * pub/sub can bring id 6 before id 5. Events are released to subscribers in id order: a
+ * missing id holds later events back for up to gap-timeout-ms, after which it is taken as
+ * lost (a publisher that failed between INCR and publish) and delivery moves on. If a
+ * skipped id turns up after all, subscribers that may have missed it get a "reset" event.
+ * So does a resume the buffer can no longer serve. Otherwise a reconnecting client sees
+ * every event once, in id order.
+ * <p>
+ * Each subscriber has a bounded queue drained on a small sender pool, so the Redis
+ * listener thread never writes to a socket. A subscriber whose queue fills up cannot keep
+ * up and is disconnected; it resumes with Last-Event-ID like any other reconnect.
+ */
+@Component
+@Slf4j
+public class RecommendationStreamHub implements MessageListener {
+
+    public static final String RESET_EVENT = "reset";
+
+    private final ObjectMapper objectMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final RecommendationVersionTracker versionTracker;
+    private final TaskScheduler taskScheduler;
+    private final ThreadPoolExecutor sender;
+    private final Counter droppedSubscribers;
+
+    @Value("${investment.stream.sequence-key:investment:recommendation-events:seq}")
+    private String sequenceKey;
+
+    @Value("${investment.stream.replay-buffer-size:1000}")
+    private int replayBufferSize;
+
+    @Value("${investment.stream.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${investment.stream.reconnect-delay-ms:3000}")
+    private long reconnectDelayMs;
+
+    @Value("${investment.stream.gap-timeout-ms:2000}")
+    private long gapTimeoutMs;
+
+    @Value("${investment.stream.subscriber-queue-size:256}")
+    private int subscriberQueueSize;
+
+    private final int maxSubscribers;
+
+    private final Object lock = new Object();
+    // Delivered events by id, for resume
+    private final TreeMap<Long, RecommendationStreamEvent> recentEvents = new TreeMap<>();
+    // Received ahead of a missing id
+    private final TreeMap<Long, RecommendationStreamEvent> heldEvents = new TreeMap<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private long lastDeliveredId = -1;
+    // A resume from this id range may have missed an event that arrived after its gap was skipped
+    private long lateFromId = Long.MAX_VALUE;
+    private long lateThroughId = -1;
+    // Identifies the pending gap timer, so one that fires after its gap closed does nothing
+    private long gapGeneration;
+    private boolean gapTimerPending;
+
+    public RecommendationStreamHub(ObjectMapper objectMapper, StringRedisTemplate redisTemplate,
+                                   RecommendationVersionTracker versionTracker, TaskScheduler taskScheduler,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${investment.stream.sender-threads:8}") int senderThreads,
+                                   @Value("${investment.stream.max-subscribers:5000}") int maxSubscribers) {
+        this.objectMapper = objectMapper;
+        this.redisTemplate = redisTemplate;
+        this.versionTracker = versionTracker;
+        this.taskScheduler = taskScheduler;
+        this.maxSubscribers = maxSubscribers;
+        // A subscriber has at most one drain task queued, so the queue never fills up
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxSubscribers + senderThreads), new CustomizableThreadFactory("stream-send-"));
+        this.droppedSubscribers = Counter.builder("investment.stream.subscribers.dropped")
+                .description("Stream subscribers disconnected for falling too far behind")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    public SseEmitter subscribe(Long lastEventId, Market market) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many stream subscribers, retry later");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, market, lastEventId != null ? lastEventId : -1);
+        emitter.onCompletion(subscriber::completed);
+        emitter.onTimeout(subscriber::completed);
+        emitter.onError(e -> subscriber.completed());
+
+        // Replay and registration happen under the delivery lock, so no event is sent twice or skipped
+        synchronized (lock) {
+            subscriber.sendRetry(reconnectDelayMs);
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            if (!subscriber.closed) {
+                subscribers.add(subscriber);
+            }
+        }
+        log.debug("Stream subscriber connected (market={}, lastEventId={}), {} active", market, lastEventId, subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Queues an event for local subscribers, in id order; events with an id are also kept
+     * for resume. Never blocks on a subscriber.
+     */
+    public void dispatch(RecommendationStreamEvent event) {
+        if (event.getId() == null) {
+            versionTracker.localChange();
+            synchronized (lock) {
+                deliver(event);
+            }
+            return;
+        }
+
+        versionTracker.advanceTo(event.getId());
+        synchronized (lock) {
+            long id = event.getId();
+            if (lastDeliveredId < 0) {
+                // First event since startup; anything earlier was published before we listened
+                lastDeliveredId = id - 1;
+            }
+            if (id <= lastDeliveredId) {
+                acceptLate(event);
+                return;
+            }
+            heldEvents.put(id, event);
+            releaseInOrder();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            dispatch(objectMapper.readValue(message.getBody(), RecommendationStreamEvent.class));
+        } catch (IOException e) {
+            log.error("Dropping unreadable stream event", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${investment.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.sendComment("keepalive");
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Callers hold the lock
+
+    private void releaseInOrder() {
+        while (!heldEvents.isEmpty() && heldEvents.firstKey() == lastDeliveredId + 1) {
+            RecommendationStreamEvent event = heldEvents.pollFirstEntry().getValue();
+            lastDeliveredId = event.getId();
+            deliver(event);
+        }
+        if (heldEvents.isEmpty()) {
+            gapGeneration++;
+            gapTimerPending = false;
+        } else if (!gapTimerPending) {
+            long generation = ++gapGeneration;
+            gapTimerPending = true;
+            taskScheduler.schedule(() -> skipGap(generation), Instant.now().plusMillis(gapTimeoutMs));
+        }
+    }
+
+    private void skipGap(long generation) {
+        synchronized (lock) {
+            if (generation != gapGeneration || heldEvents.isEmpty()) {
+                return;
+            }
+            long next = heldEvents.firstKey();
+            log.warn("Stream events {}..{} did not arrive within {} ms, continuing without them",
+                    lastDeliveredId + 1, next - 1, gapTimeoutMs);
+            gapTimerPending = false;
+            lastDeliveredId = next - 1;
+            releaseInOrder();
+        }
+    }
+
+    private void acceptLate(RecommendationStreamEvent event) {
+        long id = event.getId();
+        if (recentEvents.containsKey(id)) {
+            return;
+        }
+        log.warn("Stream event {} arrived after its gap was skipped, resetting subscribers that may have missed it", id);
+        lateFromId = Math.min(lateFromId, id);
+        lateThroughId = Math.max(lateThroughId, lastDeliveredId);
+        buffer(event);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(event)) {
+                subscriber.sendReset(id - 1);
+            }
+        }
+    }
+
+    private void deliver(RecommendationStreamEvent event) {
+        if (event.getId() != null) {
+            buffer(event);
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.wants(event)) {
+                subscriber.send(event);
+            }
+        }
+    }
+
+    private void buffer(RecommendationStreamEvent event) {
+        recentEvents.put(event.getId(), event);
+        while (recentEvents.size() > replayBufferSize) {
+            recentEvents.pollFirstEntry();
+        }
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        boolean covered;
+        if (lastEventId >= lateFromId && lastEventId <= lateThroughId) {
+            covered = false;
+        } else if (lastDeliveredId >= 0 && lastEventId >= lastDeliveredId) {
+            // Up to date; anything still held back is delivered to it in order
+            covered = true;
+        } else if (!recentEvents.isEmpty()) {
+            covered = recentEvents.firstKey() <= lastEventId + 1;
+        } else {
+            // Fresh instance: only safe to resume if nothing was published after lastEventId
+            covered = lastEventId >= currentSequence();
+        }
+
+        NavigableMap<Long, RecommendationStreamEvent> missed = recentEvents.tailMap(lastEventId, false);
+        if (!covered || missed.size() >= subscriberQueueSize) {
+            subscriber.sendReset(lastEventId);
+            return;
+        }
+        for (RecommendationStreamEvent event : missed.values()) {
+            if (subscriber.accepts(event)) {
+                subscriber.send(event);
+            }
+        }
+    }
+
+    private long currentSequence() {
+        try {
+            String value = redisTemplate.opsForValue().get(sequenceKey);
+            return value == null ? 0 : Long.parseLong(value);
+        } catch (RuntimeException e) {
+            log.warn("Could not read stream sequence, forcing subscriber reset", e);
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Market market;
+        // Events up to this id were seen before the client (re)connected
+        private final long resumedAfter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(subscriberQueueSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Market market, long resumedAfter) {
+            this.emitter = emitter;
+            this.market = market;
+            this.resumedAfter = resumedAfter;
+        }
+
+        boolean accepts(RecommendationStreamEvent event) {
+            return market == null || market == event.getMarket();
+        }
+
+        boolean wants(RecommendationStreamEvent event) {
+            return accepts(event) && (event.getId() == null || event.getId() > resumedAfter);
+        }
+
+        void send(RecommendationStreamEvent event) {
+            SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                    .name(event.getType().name())
+                    .data(event, MediaType.APPLICATION_JSON);
+            if (event.getId() != null) {
+                builder.id(String.valueOf(event.getId()));
+            }
+            enqueue(builder);
+        }
+
+        void sendReset(long lastEventId) {
+            enqueue(SseEmitter.event()
+                    .name(RESET_EVENT)
+                    .data(Map.of("lastEventId", lastEventId, "reason", "Events after lastEventId are no longer available"),
+                            MediaType.APPLICATION_JSON));
+        }
+
+        void sendRetry(long reconnectDelayMs) {
+            enqueue(SseEmitter.event().reconnectTime(reconnectDelayMs));
+        }
+
+        void sendComment(String comment) {
+            enqueue(SseEmitter.event().comment(comment));
+        }
+
+        // The emitter completed, timed out or failed on its own
+        void completed() {
+            done.set(true);
+            close();
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder builder) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(builder)) {
+                droppedSubscribers.increment();
+                log.info("Disconnecting stream subscriber {} events behind (market={})", queue.size(), market);
+                close();
+            }
+            scheduleDrain();
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; no write is in progress since we hold the drain flag
+                close();
+                draining.set(false);
+                complete();
+            }
+        }
+
+        // Runs on the sender pool, one drain at a time per subscriber, so writes never overlap
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder next;
+                while (!closed && (next = queue.poll()) != null) {
+                    write(next);
+                }
+                if (closed) {
+                    queue.clear();
+                    complete();
+                }
+                draining.set(false);
+            } while (hasWork() && draining.compareAndSet(false, true));
+        }
+
+        // Checked again after releasing the drain flag: an enqueue or close may have raced with it
+        private boolean hasWork() {
+            return closed ? !done.get() : !queue.isEmpty();
+        }
+
+        private void write(SseEmitter.SseEventBuilder builder) {
+            try {
+                emitter.send(builder);
+            } catch (IOException e) {
+                close();
+                if (done.compareAndSet(false, true)) {
+                    emitter.completeWithError(e);
+                }
+            } catch (IllegalStateException e) {
+                // Already completed or timed out
+                done.set(true);
+                close();
+            }
+        }
+
+        private void complete() {
+            if (done.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.confiance.investment.stream;
+
+import com.confiance.investment.dto.RecommendationResponse;
+import com.confiance.investment.dto.RecommendationStreamEvent;
+import com.confiance.investment.event.RecommendationChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Turns committed recommendation writes into stream events. Ids come from a Redis INCR so
+ * they are ordered across instances and a client can resume on any instance with
+ * Last-Event-ID. Every instance, including this one, receives the event back over pub/sub
+ * and pushes it to its own subscribers.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendationStreamPublisher {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RecommendationStreamHub hub;
+    private final RecommendationVersionTracker versionTracker;
+
+    @Value("${investment.stream.channel:investment:recommendation-events}")
+    private String channel;
+
+    @Value("${investment.stream.sequence-key:investment:recommendation-events:seq}")
+    private String sequenceKey;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecommendationChanged(RecommendationChangedEvent event) {
+        RecommendationStreamEvent streamEvent = toStreamEvent(event);
+        try {
+            streamEvent.setId(redisTemplate.opsForValue().increment(sequenceKey));
+            // Don't wait for our own pub/sub echo: a client polling this instance right
+            // after the write must not get a 304 for the old version
+            versionTracker.advanceTo(streamEvent.getId());
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(streamEvent));
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize stream event for recommendation {}", event.getRecommendationId(), e);
+        } catch (RuntimeException e) {
+            // Without Redis there is no shared id; local subscribers still get the change and
+            // keep their last id, so a later resume replays anything they missed elsewhere
+            log.warn("Redis unavailable, delivering {} of recommendation {} to local subscribers only",
+                    streamEvent.getType(), event.getRecommendationId(), e);
+            streamEvent.setId(null);
+            hub.dispatch(streamEvent);
+        }
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    private RecommendationStreamEvent toStreamEvent(RecommendationChangedEvent event) {
+        RecommendationResponse before = event.getBefore();
+        RecommendationResponse after = event.getAfter();
+        RecommendationResponse current = after != null ? after : before;
+
+        RecommendationStreamEventType type = switch (event.getType()) {
+            case CREATED -> RecommendationStreamEventType.CREATED;
+            case DELETED -> RecommendationStreamEventType.DELETED;
+            case UPDATED -> before != null && before.getStatus() != after.getStatus()
+                    ? RecommendationStreamEventType.STATUS_CHANGED
+                    : RecommendationStreamEventType.UPDATED;
+        };
+
+        return RecommendationStreamEvent.builder()
+                .type(type)
+                .recommendationId(event.getRecommendationId())
+                .market(current.getMarket())
+                .status(current.getStatus())
+                .previousStatus(before != null ? before.getStatus() : null)
+                .recommendation(after)
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+}
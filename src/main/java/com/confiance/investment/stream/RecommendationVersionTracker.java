@@ -0,0 +1,92 @@
+package com.confiance.investment.stream;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the recommendation collection as a whole, used as the ETag of list
+ * responses. It follows the shared stream event sequence. Every committed write takes
+ * the next id, and every instance sees it over pub/sub. A periodic resync from Redis
+ * covers lost messages. Reading it never touches MySQL or Redis.
+ * Writes delivered only locally (Redis down) bump a local counter, combined with a
+ * per-process epoch, so the ETag still changes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendationVersionTracker {
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${investment.stream.sequence-key:investment:recommendation-events:seq}")
+    private String sequenceKey;
+
+    private final AtomicLong version = new AtomicLong(-1);
+    private final AtomicLong localChanges = new AtomicLong();
+    private final long epoch = System.currentTimeMillis();
+    // System.nanoTime() of the last version change, written before the new version is visible
+    private volatile long lastChangeNanos = NEVER;
+
+    public void advanceTo(long sequence) {
+        if (sequence > version.get()) {
+            lastChangeNanos = System.nanoTime();
+            version.accumulateAndGet(sequence, Math::max);
+        }
+    }
+
+    public void localChange() {
+        lastChangeNanos = System.nanoTime();
+        localChanges.incrementAndGet();
+    }
+
+    /**
+     * True if the version moved within the window. A reader that has seen the new version
+     * always sees the change here too.
+     */
+    public boolean changedWithin(Duration window) {
+        long last = lastChangeNanos;
+        return last != NEVER && System.nanoTime() - last < window.toNanos();
+    }
+
+    /**
+     * Weak ETag for the current collection state, or null until the version is known. Weak
+     * because the JSON, CBOR and protobuf bodies of one state share it.
+     */
+    public String currentETag() {
+        String current = currentVersion();
+        return current != null ? "W/\"" + current + "\"" : null;
+    }
+
+    /**
+     * The current collection version, or null until it is known. Also part of the list
+     * cache keys: a page cached under a version was loaded after that version became
+     * visible here, so it is never older than an ETag carrying the same version.
+     */
+    public String currentVersion() {
+        long current = version.get();
+        if (current < 0) {
+            return null;
+        }
+        long local = localChanges.get();
+        return local == 0 ? "v" + current : "v" + current + "-" + epoch + "-" + local;
+    }
+
+    @Scheduled(fixedDelayString = "${investment.etag.resync-interval-ms:5000}")
+    public void resync() {
+        try {
+            String value = redisTemplate.opsForValue().get(sequenceKey);
+            advanceTo(value == null ? 0 : Long.parseLong(value));
+        } catch (RuntimeException e) {
+            log.debug("Could not resync collection version from Redis", e);
+        }
+    }
+}
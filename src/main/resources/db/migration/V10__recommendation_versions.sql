@@ -0,0 +1,12 @@
+-- Per-recommendation change versions stamped on outbox rows, so stream consumers can
+-- drop changes that reach them out of commit order
+
+CREATE TABLE recommendation_versions (
+    recommendation_id BIGINT NOT NULL,
+    version           BIGINT NOT NULL,
+    PRIMARY KEY (recommendation_id)
+) ENGINE = InnoDB;
+
+-- Rows still queued at deploy time predate versions; 0 sorts before any stamped change
+ALTER TABLE recommendation_outbox
+    ADD COLUMN recommendation_version BIGINT NOT NULL DEFAULT 0 AFTER recommendation_id;
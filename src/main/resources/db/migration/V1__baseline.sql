@@ -0,0 +1,47 @@
+-- Schema as Hibernate's ddl-auto created it for the entities before Flyway was introduced.
+-- Databases created that way have no history table; they are baselined at version 1
+-- (spring.flyway.baseline-on-migrate) and skip this script, so it must not describe anything
+-- newer. Later changes go in V2__..., V3__... and never edit this file.
+-- Hibernate made the enum columns MySQL ENUMs; V2 turns them into VARCHAR, so they are
+-- VARCHAR here already.
+
+CREATE TABLE recommendations (
+    id                  BIGINT         NOT NULL AUTO_INCREMENT,
+    market              VARCHAR(255)   NOT NULL,
+    currency            VARCHAR(10)    NOT NULL,
+    ticker_symbol       VARCHAR(20)    NOT NULL,
+    company_name        VARCHAR(255),
+    trade_type          VARCHAR(255)   NOT NULL,
+    recommendation_date DATE           NOT NULL,
+    entry_price         DECIMAL(19, 2) NOT NULL,
+    target_price        DECIMAL(19, 2),
+    stop_loss           DECIMAL(19, 2),
+    risk_reward_ratio   DECIMAL(5, 2),
+    sell_price          DECIMAL(19, 2),
+    exit_date           DATE,
+    holding_period_days INT,
+    status              VARCHAR(255)   NOT NULL,
+    remarks             VARCHAR(1000),
+    created_by_user_id  BIGINT,
+    created_at          DATETIME(6)    NOT NULL,
+    updated_at          DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_ticker_symbol (ticker_symbol),
+    INDEX idx_market (market),
+    INDEX idx_status (status),
+    INDEX idx_recommendation_date (recommendation_date)
+) ENGINE = InnoDB;
+
+CREATE TABLE investment_products (
+    id                    BIGINT         NOT NULL AUTO_INCREMENT,
+    name                  VARCHAR(255)   NOT NULL,
+    description           VARCHAR(255),
+    type                  VARCHAR(255)   NOT NULL,
+    expected_returns      DECIMAL(5, 2)  NOT NULL,
+    min_investment        DECIMAL(19, 2) NOT NULL,
+    max_investment        DECIMAL(19, 2),
+    lock_in_period_months INT            NOT NULL,
+    status                VARCHAR(255)   NOT NULL,
+    created_at            DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,11 @@
+-- Enum columns become VARCHAR so adding a constant needs no migration. A no-op on
+-- databases created by V1.
+
+ALTER TABLE recommendations
+    MODIFY market VARCHAR(255) NOT NULL,
+    MODIFY trade_type VARCHAR(255) NOT NULL,
+    MODIFY status VARCHAR(255) NOT NULL;
+
+ALTER TABLE investment_products
+    MODIFY type VARCHAR(255) NOT NULL,
+    MODIFY status VARCHAR(255) NOT NULL;
@@ -0,0 +1,11 @@
+-- (equality filters, recommendation_date, id) indexes matching the list queries, replacing
+-- the single-column ones
+
+ALTER TABLE recommendations
+    ADD INDEX idx_status_date_id (status, recommendation_date, id),
+    ADD INDEX idx_market_date_id (market, recommendation_date, id),
+    ADD INDEX idx_market_status_date_id (market, status, recommendation_date, id),
+    ADD INDEX idx_recommendation_date_id (recommendation_date, id),
+    DROP INDEX idx_market,
+    DROP INDEX idx_status,
+    DROP INDEX idx_recommendation_date;
@@ -0,0 +1,13 @@
+-- Recommendation ids come from a pooled sequence (a table on MySQL, increment 50) instead
+-- of AUTO_INCREMENT, so inserts can be batched. next_val starts one block past the highest
+-- existing id: Hibernate's pooled optimizer hands out next_val - 49 .. next_val.
+
+CREATE TABLE recommendations_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO recommendations_seq
+SELECT COALESCE(MAX(id), 0) + 51 FROM recommendations;
+
+ALTER TABLE recommendations
+    MODIFY id BIGINT NOT NULL;
@@ -0,0 +1,9 @@
+-- Potential return/risk stored at write time. Existing rows are filled by
+-- DerivedMetricsBackfill after startup.
+
+ALTER TABLE recommendations
+    ADD COLUMN potential_return DECIMAL(19, 2) AFTER risk_reward_ratio,
+    ADD COLUMN potential_return_percentage DECIMAL(9, 2) AFTER potential_return,
+    ADD COLUMN potential_risk DECIMAL(19, 2) AFTER potential_return_percentage,
+    ADD INDEX idx_status_return_pct (status, potential_return_percentage),
+    ADD INDEX idx_status_risk_reward (status, risk_reward_ratio);
@@ -0,0 +1,22 @@
+-- Per (market, trade type, month) aggregates, rebuilt by PerformanceSummaryRefresher
+
+CREATE TABLE recommendation_performance_summary (
+    id                     BIGINT         NOT NULL AUTO_INCREMENT,
+    market                 VARCHAR(255)   NOT NULL,
+    trade_type             VARCHAR(255)   NOT NULL,
+    period_month           DATE           NOT NULL,
+    total_count            BIGINT         NOT NULL,
+    closed_count           BIGINT         NOT NULL,
+    hit_count              BIGINT         NOT NULL,
+    sum_return_percentage  DECIMAL(19, 4),
+    holding_count          BIGINT         NOT NULL,
+    sum_holding_days       BIGINT         NOT NULL,
+    risk_reward_count      BIGINT         NOT NULL,
+    sum_risk_reward        DECIMAL(19, 2),
+    rr_bucket_below_one    BIGINT         NOT NULL,
+    rr_bucket_one_to_two   BIGINT         NOT NULL,
+    rr_bucket_two_to_three BIGINT         NOT NULL,
+    rr_bucket_three_plus   BIGINT         NOT NULL,
+    refreshed_at           DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
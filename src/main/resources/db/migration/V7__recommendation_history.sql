@@ -0,0 +1,18 @@
+-- Change log written behind by RecommendationHistoryRecorder
+
+CREATE TABLE recommendation_history (
+    id                BIGINT        NOT NULL,
+    recommendation_id BIGINT        NOT NULL,
+    change_type       VARCHAR(20)   NOT NULL,
+    changed_fields    VARCHAR(1000),
+    before_snapshot   TEXT,
+    after_snapshot    TEXT,
+    occurred_at       DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_history_recommendation_occurred (recommendation_id, occurred_at, id)
+) ENGINE = InnoDB;
+
+CREATE TABLE recommendation_history_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO recommendation_history_seq VALUES (1);
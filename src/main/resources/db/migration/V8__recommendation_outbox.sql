@@ -0,0 +1,17 @@
+-- Transactional outbox relayed to the investment:recommendation-outbox Redis stream
+
+CREATE TABLE recommendation_outbox (
+    id                BIGINT      NOT NULL,
+    recommendation_id BIGINT      NOT NULL,
+    event_type        VARCHAR(20) NOT NULL,
+    payload           TEXT        NOT NULL,
+    occurred_at       DATETIME(6) NOT NULL,
+    published_at      DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_outbox_published_id (published_at, id)
+) ENGINE = InnoDB;
+
+CREATE TABLE recommendation_outbox_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO recommendation_outbox_seq VALUES (1);
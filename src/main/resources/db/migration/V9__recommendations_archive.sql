@@ -0,0 +1,34 @@
+-- Closed recommendations moved out of the live table by RecommendationArchiver. Ids keep
+-- coming from recommendations_seq.
+
+CREATE TABLE recommendations_archive (
+    id                          BIGINT         NOT NULL,
+    market                      VARCHAR(255)   NOT NULL,
+    currency                    VARCHAR(10)    NOT NULL,
+    ticker_symbol               VARCHAR(20)    NOT NULL,
+    company_name                VARCHAR(255),
+    trade_type                  VARCHAR(255)   NOT NULL,
+    recommendation_date         DATE           NOT NULL,
+    entry_price                 DECIMAL(19, 2) NOT NULL,
+    target_price                DECIMAL(19, 2),
+    stop_loss                   DECIMAL(19, 2),
+    risk_reward_ratio           DECIMAL(5, 2),
+    potential_return            DECIMAL(19, 2),
+    potential_return_percentage DECIMAL(9, 2),
+    potential_risk              DECIMAL(19, 2),
+    sell_price                  DECIMAL(19, 2),
+    exit_date                   DATE,
+    holding_period_days         INT,
+    status                      VARCHAR(255)   NOT NULL,
+    remarks                     VARCHAR(1000),
+    created_by_user_id          BIGINT,
+    created_at                  DATETIME(6)    NOT NULL,
+    updated_at                  DATETIME(6)    NOT NULL,
+    archived_at                 DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_archive_ticker_symbol (ticker_symbol),
+    INDEX idx_archive_date_id (recommendation_date, id),
+    INDEX idx_archive_market_date_id (market, recommendation_date, id),
+    INDEX idx_archive_status_date_id (status, recommendation_date, id),
+    INDEX idx_archive_archived_at (archived_at)
+) ENGINE = InnoDB;
@@ -0,0 +1,394 @@
+package com.confiance.investment.protobuf;
+
+import com.confiance.common.dto.ApiResponse;
+import com.confiance.common.dto.PageResponse;
+import com.confiance.common.enums.InvestmentStatus;
+import com.confiance.common.enums.InvestmentType;
+import com.confiance.common.enums.Market;
+import com.confiance.common.enums.RecommendationStatus;
+import com.confiance.common.enums.RecommendationType;
+import com.confiance.investment.dto.CursorPageResponse;
+import com.confiance.investment.dto.InvestmentProductResponse;
+import com.confiance.investment.dto.RecommendationResponse;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.FileDescriptor;
+import com.google.protobuf.DynamicMessage;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Decodes the hand-written encoder's output with the schema itself: responses.protobin is
+ * the descriptor set protoc writes for proto/investment/v1/responses.proto during the test
+ * build, so a wrong field number, wire type or length fails here rather than in a client.
+ */
+class ProtobufResponseEncoderTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 9, 15, 30);
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 3, 2, 16, 0);
+
+    private static Descriptor response;
+
+    @BeforeAll
+    static void loadSchema() throws Exception {
+        try (InputStream in = ProtobufResponseEncoderTest.class.getResourceAsStream("/responses.protobin")) {
+            assertThat(in).as("descriptor set written by protobuf-maven-plugin").isNotNull();
+            FileDescriptorSet descriptorSet = FileDescriptorSet.parseFrom(in);
+            FileDescriptor file = FileDescriptor.buildFrom(descriptorSet.getFile(0), new FileDescriptor[0]);
+            response = file.findMessageTypeByName("Response");
+        }
+        assertThat(response.getFullName()).isEqualTo(ProtobufResponseEncoder.MESSAGE);
+    }
+
+    @Test
+    void encodesEveryRecommendationField() throws Exception {
+        RecommendationResponse recommendation = fullRecommendation(7L);
+
+        DynamicMessage decoded = decode(ApiResponse.success("Recommendation retrieved", recommendation),
+                apiResponseOf(ResolvableType.forClass(RecommendationResponse.class)));
+
+        assertThat(field(decoded, "success")).isEqualTo(true);
+        assertThat(field(decoded, "message")).isEqualTo("Recommendation retrieved");
+        assertRecommendation(message(decoded, "recommendation"), recommendation);
+    }
+
+    @Test
+    void leavesOutNullsAndKeepsExplicitZeros() throws Exception {
+        RecommendationResponse recommendation = RecommendationResponse.builder()
+                .id(0L)
+                .market(Market.values()[0])
+                .entryPrice(BigDecimal.ZERO)
+                .targetPrice(new BigDecimal("0.00"))
+                .holdingPeriodDays(0)
+                .createdByUserId(0L)
+                .recommendationDate(LocalDate.EPOCH)
+                .build();
+
+        DynamicMessage decoded = message(decode(ApiResponse.success(recommendation),
+                apiResponseOf(ResolvableType.forClass(RecommendationResponse.class))), "recommendation");
+
+        for (String absent : List.of("currency", "ticker_symbol", "company_name", "trade_type", "stop_loss",
+                "risk_reward_ratio", "sell_price", "exit_date", "status", "remarks", "created_at", "updated_at",
+                "potential_return", "potential_risk", "potential_return_percentage")) {
+            assertThat(decoded.hasField(fieldOf(decoded, absent))).as(absent).isFalse();
+        }
+        // proto3 `optional` fields keep presence, so 0 is distinguishable from unset
+        assertThat(decoded.hasField(fieldOf(decoded, "holding_period_days"))).isTrue();
+        assertThat(field(decoded, "holding_period_days")).isEqualTo(0);
+        assertThat(decoded.hasField(fieldOf(decoded, "created_by_user_id"))).isTrue();
+        assertThat(field(decoded, "created_by_user_id")).isEqualTo(0L);
+        assertThat(decoded.hasField(fieldOf(decoded, "recommendation_date"))).isTrue();
+        assertThat(field(decoded, "recommendation_date")).isEqualTo(0);
+        // A zero decimal is a present, empty Decimal message
+        assertThat(decoded.hasField(fieldOf(decoded, "entry_price"))).isTrue();
+        assertThat(decimal(decoded, "entry_price")).isEqualTo(BigDecimal.ZERO);
+        assertThat(decimal(decoded, "target_price")).isEqualTo(new BigDecimal("0.00"));
+        assertThat(field(decoded, "id")).isEqualTo(0L);
+    }
+
+    @Test
+    void encodesNegativeAndWideDecimals() throws Exception {
+        BigDecimal wide = new BigDecimal("123456789012345678901234567890.1234");
+        RecommendationResponse recommendation = RecommendationResponse.builder()
+                .id(1L)
+                .entryPrice(new BigDecimal("-12.50"))
+                .targetPrice(wide)
+                .stopLoss(new BigDecimal("1E+3"))
+                .potentialReturnPercentage(new BigDecimal(Long.MAX_VALUE).movePointLeft(2))
+                .build();
+
+        DynamicMessage decoded = message(decode(ApiResponse.success(recommendation),
+                apiResponseOf(ResolvableType.forClass(RecommendationResponse.class))), "recommendation");
+
+        assertThat(decimal(decoded, "entry_price")).isEqualTo(new BigDecimal("-12.50"));
+        assertThat(decimal(decoded, "target_price")).isEqualTo(wide);
+        assertThat(message(decoded, "target_price").hasField(fieldOf(message(decoded, "target_price"), "unscaled_bytes"))).isTrue();
+        assertThat(decimal(decoded, "stop_loss")).isEqualTo(new BigDecimal("1E+3"));
+        assertThat(decimal(decoded, "potential_return_percentage")).isEqualTo(new BigDecimal(Long.MAX_VALUE).movePointLeft(2));
+    }
+
+    @Test
+    void encodesRecommendationPage() throws Exception {
+        PageResponse<RecommendationResponse> page = PageResponse.<RecommendationResponse>builder()
+                .content(List.of(fullRecommendation(1L), fullRecommendation(2L)))
+                .pageNumber(3)
+                .pageSize(2)
+                .totalElements(101L)
+                .totalPages(51)
+                .first(false)
+                .last(false)
+                .empty(false)
+                .build();
+
+        DynamicMessage decoded = message(decode(ApiResponse.success(page),
+                apiResponseOf(ResolvableType.forClassWithGenerics(PageResponse.class, RecommendationResponse.class))),
+                "recommendation_page");
+
+        List<?> rows = (List<?>) field(decoded, "content");
+        assertThat(rows).hasSize(2);
+        assertRecommendation((DynamicMessage) rows.get(0), page.getContent().get(0));
+        assertRecommendation((DynamicMessage) rows.get(1), page.getContent().get(1));
+        assertThat(field(decoded, "page_number")).isEqualTo(3);
+        assertThat(field(decoded, "page_size")).isEqualTo(2);
+        assertThat(field(decoded, "total_elements")).isEqualTo(101L);
+        assertThat(field(decoded, "total_pages")).isEqualTo(51);
+        assertThat(field(decoded, "first")).isEqualTo(false);
+        assertThat(field(decoded, "last")).isEqualTo(false);
+        assertThat(field(decoded, "empty")).isEqualTo(false);
+    }
+
+    @Test
+    void encodesEmptyPageFromUndeclaredDataType() throws Exception {
+        PageResponse<RecommendationResponse> page = PageResponse.<RecommendationResponse>builder()
+                .content(List.of())
+                .pageNumber(0)
+                .pageSize(20)
+                .totalElements(0L)
+                .totalPages(0)
+                .first(true)
+                .last(true)
+                .empty(true)
+                .build();
+
+        DynamicMessage decoded = message(decode(ApiResponse.success(page),
+                apiResponseOf(ResolvableType.forClass(Object.class))), "recommendation_page");
+
+        assertThat((List<?>) field(decoded, "content")).isEmpty();
+        assertThat(field(decoded, "page_size")).isEqualTo(20);
+        assertThat(field(decoded, "total_elements")).isEqualTo(0L);
+        assertThat(field(decoded, "first")).isEqualTo(true);
+        assertThat(field(decoded, "last")).isEqualTo(true);
+        assertThat(field(decoded, "empty")).isEqualTo(true);
+    }
+
+    @Test
+    void encodesCursorPage() throws Exception {
+        CursorPageResponse<RecommendationResponse> cursor = CursorPageResponse.<RecommendationResponse>builder()
+                .content(List.of(fullRecommendation(9L)))
+                .size(1)
+                .hasNext(true)
+                .nextCursor("MjAyNC0wMy0wMXw5")
+                .totalElements(0L)
+                .build();
+
+        DynamicMessage decoded = message(decode(ApiResponse.success(cursor),
+                apiResponseOf(ResolvableType.forClassWithGenerics(CursorPageResponse.class, RecommendationResponse.class))),
+                "recommendation_cursor_page");
+
+        List<?> rows = (List<?>) field(decoded, "content");
+        assertThat(rows).hasSize(1);
+        assertRecommendation((DynamicMessage) rows.get(0), cursor.getContent().get(0));
+        assertThat(field(decoded, "size")).isEqualTo(1);
+        assertThat(field(decoded, "has_next")).isEqualTo(true);
+        assertThat(field(decoded, "next_cursor")).isEqualTo("MjAyNC0wMy0wMXw5");
+        assertThat(decoded.hasField(fieldOf(decoded, "total_elements"))).isTrue();
+        assertThat(field(decoded, "total_elements")).isEqualTo(0L);
+    }
+
+    @Test
+    void encodesLastCursorPageWithoutOptionalFields() throws Exception {
+        CursorPageResponse<RecommendationResponse> cursor = CursorPageResponse.<RecommendationResponse>builder()
+                .content(List.of())
+                .size(20)
+                .hasNext(false)
+                .build();
+
+        DynamicMessage decoded = message(decode(ApiResponse.success(cursor),
+                apiResponseOf(ResolvableType.forClassWithGenerics(CursorPageResponse.class, RecommendationResponse.class))),
+                "recommendation_cursor_page");
+
+        assertThat(field(decoded, "has_next")).isEqualTo(false);
+        assertThat(decoded.hasField(fieldOf(decoded, "next_cursor"))).isFalse();
+        assertThat(decoded.hasField(fieldOf(decoded, "total_elements"))).isFalse();
+    }
+
+    @Test
+    void encodesInvestmentProductAndPage() throws Exception {
+        InvestmentProductResponse product = fullProduct(4L);
+
+        DynamicMessage single = message(decode(ApiResponse.success(product),
+                apiResponseOf(ResolvableType.forClass(InvestmentProductResponse.class))), "investment_product");
+        assertProduct(single, product);
+
+        PageResponse<InvestmentProductResponse> page = PageResponse.<InvestmentProductResponse>builder()
+                .content(List.of(product, fullProduct(5L)))
+                .pageNumber(0)
+                .pageSize(2)
+                .totalElements(2L)
+                .totalPages(1)
+                .first(true)
+                .last(true)
+                .empty(false)
+                .build();
+        DynamicMessage decoded = message(decode(ApiResponse.success(page),
+                apiResponseOf(ResolvableType.forClassWithGenerics(PageResponse.class, InvestmentProductResponse.class))),
+                "investment_product_page");
+
+        List<?> rows = (List<?>) field(decoded, "content");
+        assertThat(rows).hasSize(2);
+        assertProduct((DynamicMessage) rows.get(1), page.getContent().get(1));
+        assertThat(field(decoded, "page_size")).isEqualTo(2);
+        assertThat(field(decoded, "total_elements")).isEqualTo(2L);
+        assertThat(field(decoded, "total_pages")).isEqualTo(1);
+        assertThat(field(decoded, "first")).isEqualTo(true);
+        assertThat(field(decoded, "last")).isEqualTo(true);
+    }
+
+    @Test
+    void encodesEnvelopeWithoutData() throws Exception {
+        DynamicMessage decoded = decode(ApiResponse.success("Performance summary refreshed", null),
+                apiResponseOf(ResolvableType.forClass(Void.class)));
+
+        assertThat(field(decoded, "success")).isEqualTo(true);
+        assertThat(field(decoded, "message")).isEqualTo("Performance summary refreshed");
+        assertThat(decoded.getOneofFieldDescriptor(response.getOneofs().get(0))).isNull();
+    }
+
+    private static RecommendationResponse fullRecommendation(long id) {
+        return RecommendationResponse.builder()
+                .id(id)
+                .market(Market.values()[0])
+                .currency("INR")
+                .tickerSymbol("TICK" + id)
+                .companyName("Company " + id + " Ltd \u00fcn\u00efcode")
+                .tradeType(RecommendationType.values()[0])
+                .recommendationDate(LocalDate.of(2024, 3, 1))
+                .entryPrice(new BigDecimal("1523.45"))
+                .targetPrice(new BigDecimal("1750.00"))
+                .stopLoss(new BigDecimal("1450.10"))
+                .riskRewardRatio(new BigDecimal("3.11"))
+                .sellPrice(new BigDecimal("1748.90"))
+                .exitDate(LocalDate.of(2024, 4, 15))
+                .holdingPeriodDays(45)
+                .status(RecommendationStatus.OPEN)
+                .remarks("Breakout above 1500")
+                .createdByUserId(42L)
+                .createdAt(CREATED_AT)
+                .updatedAt(UPDATED_AT)
+                .potentialReturn(new BigDecimal("226.55"))
+                .potentialRisk(new BigDecimal("73.35"))
+                .potentialReturnPercentage(new BigDecimal("14.87"))
+                .build();
+    }
+
+    private static InvestmentProductResponse fullProduct(long id) {
+        return InvestmentProductResponse.builder()
+                .id(id)
+                .name("Product " + id)
+                .description("Balanced fund")
+                .type(InvestmentType.values()[0])
+                .expectedReturns(new BigDecimal("11.50"))
+                .minInvestment(new BigDecimal("5000.00"))
+                .maxInvestment(new BigDecimal("1000000.00"))
+                .lockInPeriodMonths(0)
+                .status(InvestmentStatus.values()[0])
+                .createdAt(CREATED_AT)
+                .build();
+    }
+
+    private static void assertRecommendation(DynamicMessage decoded, RecommendationResponse expected) {
+        assertThat(field(decoded, "id")).isEqualTo(expected.getId());
+        assertThat(field(decoded, "market")).isEqualTo(expected.getMarket().name());
+        assertThat(field(decoded, "currency")).isEqualTo(expected.getCurrency());
+        assertThat(field(decoded, "ticker_symbol")).isEqualTo(expected.getTickerSymbol());
+        assertThat(field(decoded, "company_name")).isEqualTo(expected.getCompanyName());
+        assertThat(field(decoded, "trade_type")).isEqualTo(expected.getTradeType().name());
+        assertThat(field(decoded, "recommendation_date")).isEqualTo((int) expected.getRecommendationDate().toEpochDay());
+        assertThat(decimal(decoded, "entry_price")).isEqualTo(expected.getEntryPrice());
+        assertThat(decimal(decoded, "target_price")).isEqualTo(expected.getTargetPrice());
+        assertThat(decimal(decoded, "stop_loss")).isEqualTo(expected.getStopLoss());
+        assertThat(decimal(decoded, "risk_reward_ratio")).isEqualTo(expected.getRiskRewardRatio());
+        assertThat(decimal(decoded, "sell_price")).isEqualTo(expected.getSellPrice());
+        assertThat(field(decoded, "exit_date")).isEqualTo((int) expected.getExitDate().toEpochDay());
+        assertThat(field(decoded, "holding_period_days")).isEqualTo(expected.getHoldingPeriodDays());
+        assertThat(field(decoded, "status")).isEqualTo(expected.getStatus().name());
+        assertThat(field(decoded, "remarks")).isEqualTo(expected.getRemarks());
+        assertThat(field(decoded, "created_by_user_id")).isEqualTo(expected.getCreatedByUserId());
+        assertThat(field(decoded, "created_at")).isEqualTo(epochMillis(expected.getCreatedAt()));
+        assertThat(field(decoded, "updated_at")).isEqualTo(epochMillis(expected.getUpdatedAt()));
+        assertThat(decimal(decoded, "potential_return")).isEqualTo(expected.getPotentialReturn());
+        assertThat(decimal(decoded, "potential_risk")).isEqualTo(expected.getPotentialRisk());
+        assertThat(decimal(decoded, "potential_return_percentage")).isEqualTo(expected.getPotentialReturnPercentage());
+    }
+
+    private static void assertProduct(DynamicMessage decoded, InvestmentProductResponse expected) {
+        assertThat(field(decoded, "id")).isEqualTo(expected.getId());
+        assertThat(field(decoded, "name")).isEqualTo(expected.getName());
+        assertThat(field(decoded, "description")).isEqualTo(expected.getDescription());
+        assertThat(field(decoded, "type")).isEqualTo(expected.getType().name());
+        assertThat(decimal(decoded, "expected_returns")).isEqualTo(expected.getExpectedReturns());
+        assertThat(decimal(decoded, "min_investment")).isEqualTo(expected.getMinInvestment());
+        assertThat(decimal(decoded, "max_investment")).isEqualTo(expected.getMaxInvestment());
+        assertThat(decoded.hasField(fieldOf(decoded, "lock_in_period_months"))).isTrue();
+        assertThat(field(decoded, "lock_in_period_months")).isEqualTo(expected.getLockInPeriodMonths());
+        assertThat(field(decoded, "status")).isEqualTo(expected.getStatus().name());
+        assertThat(field(decoded, "created_at")).isEqualTo(epochMillis(expected.getCreatedAt()));
+    }
+
+    private static ResolvableType apiResponseOf(ResolvableType data) {
+        return ResolvableType.forClassWithGenerics(ApiResponse.class, data);
+    }
+
+    // Parsing rejects wrong wire types and lengths; unknown (misnumbered) fields must not appear either
+    private static DynamicMessage decode(ApiResponse<?> body, ResolvableType type) throws Exception {
+        DynamicMessage decoded = DynamicMessage.parseFrom(response, ProtobufResponseEncoder.encode(body, type));
+        assertNoUnknownFields(decoded);
+        return decoded;
+    }
+
+    private static void assertNoUnknownFields(DynamicMessage message) {
+        assertThat(message.getUnknownFields().asMap()).as("unknown fields in %s", message.getDescriptorForType().getName()).isEmpty();
+        message.getAllFields().forEach((field, value) -> {
+            if (field.getJavaType() != FieldDescriptor.JavaType.MESSAGE) {
+                return;
+            }
+            if (value instanceof List<?> values) {
+                values.forEach(v -> assertNoUnknownFields((DynamicMessage) v));
+            } else {
+                assertNoUnknownFields((DynamicMessage) value);
+            }
+        });
+    }
+
+    private static FieldDescriptor fieldOf(DynamicMessage message, String name) {
+        FieldDescriptor field = message.getDescriptorForType().findFieldByName(name);
+        assertThat(field).as("field %s of %s", name, message.getDescriptorForType().getName()).isNotNull();
+        return field;
+    }
+
+    private static Object field(DynamicMessage message, String name) {
+        return message.getField(fieldOf(message, name));
+    }
+
+    private static DynamicMessage message(DynamicMessage message, String name) {
+        FieldDescriptor field = fieldOf(message, name);
+        assertThat(message.hasField(field)).as("%s is set", name).isTrue();
+        return (DynamicMessage) message.getField(field);
+    }
+
+    private static BigDecimal decimal(DynamicMessage message, String name) {
+        DynamicMessage decimal = message(message, name);
+        ByteString bytes = (ByteString) field(decimal, "unscaled_bytes");
+        BigInteger unscaled = bytes.isEmpty()
+                ? BigInteger.valueOf((Long) field(decimal, "unscaled"))
+                : new BigInteger(bytes.toByteArray());
+        return new BigDecimal(unscaled, (Integer) field(decimal, "scale"));
+    }
+
+    private static long epochMillis(LocalDateTime value) {
+        return value.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,214 @@
+package com.confiance.investment.repository;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.confiance.common.enums.Market;
+import com.confiance.common.enums.RecommendationStatus;
+import com.confiance.investment.entity.Recommendation;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the composite indexes against silent regressions: each list query shape is run
+ * through RecommendationRepository with the Specifications RecommendationService builds,
+ * and EXPLAIN of the SQL Hibernate emitted (with its bound parameters) must use the
+ * matching index and read rows in index order instead of filesorting.
+ * <p>
+ * The database is an embedded MariaDB (MariaDB4j), so the test needs neither Docker nor a
+ * running server; the schema comes from the Flyway migrations and the SQL from Hibernate's
+ * MySQL dialect, as in production.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RecommendationIndexPlanTest {
+
+    private static final int ROWS = 5000;
+    private static final String DATABASE = "confiance_investments";
+    // As in RecommendationService
+    private static final Sort LATEST_FIRST = Sort.by(Sort.Order.desc("recommendationDate"), Sort.Order.desc("id"));
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20, LATEST_FIRST);
+    private static final List<QueryInfo> EXECUTED = new CopyOnWriteArrayList<>();
+
+    private static DB mariaDb;
+    private static String url;
+
+    @Autowired
+    private RecommendationRepository recommendationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Market market = Market.values()[0];
+    private final RecommendationStatus status = RecommendationStatus.OPEN;
+
+    @Configuration
+    @EntityScan(basePackageClasses = Recommendation.class)
+    @EnableJpaRepositories(basePackageClasses = RecommendationRepository.class)
+    static class JpaConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        // Records (and logs) every statement with its bound parameters, so it can be EXPLAINed as sent
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .logQueryBySlf4j(SLF4JLogLevel.INFO, "investment.index-plan")
+                            .afterQuery((execution, queries) -> EXECUTED.addAll(queries))
+                            .build();
+                }
+            };
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> "root");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @BeforeAll
+    static void startMigrateAndLoad() throws Exception {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0);
+        mariaDb = DB.newEmbeddedDB(config.build());
+        mariaDb.start();
+        mariaDb.createDB(DATABASE);
+        url = "jdbc:mysql://localhost:" + mariaDb.getConfiguration().getPort() + "/" + DATABASE
+                + "?useSSL=false&allowPublicKeyRetrieval=true";
+
+        Flyway.configure().dataSource(url, "root", "").load().migrate();
+        JdbcTemplate loader = new JdbcTemplate(new DriverManagerDataSource(url, "root", ""));
+
+        Market[] markets = Market.values();
+        RecommendationStatus[] statuses = RecommendationStatus.values();
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            LocalDate date = start.plusDays(i % 730);
+            Timestamp createdAt = Timestamp.valueOf(date.atStartOfDay());
+            rows.add(new Object[]{i, markets[i % markets.length].name(), "INR", "TICK" + (i % 300), "BUY",
+                    Date.valueOf(date), 100 + i % 900, statuses[i % statuses.length].name(), createdAt, createdAt});
+        }
+        loader.batchUpdate("INSERT INTO recommendations (id, market, currency, ticker_symbol, trade_type,"
+                + " recommendation_date, entry_price, status, created_at, updated_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        loader.execute("ANALYZE TABLE recommendations");
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        if (mariaDb != null) {
+            mariaDb.stop();
+        }
+    }
+
+    @BeforeEach
+    void clearExecuted() {
+        EXECUTED.clear();
+    }
+
+    @Test
+    void newestFirstUsesDateIndex() {
+        recommendationRepository.findSummarySlice(Specification.where(null), FIRST_PAGE);
+        assertListQueryUses("idx_recommendation_date_id");
+    }
+
+    @Test
+    void statusFilterUsesStatusDateIndex() {
+        recommendationRepository.findSummaries(RecommendationSpecifications.withFilters(null, status), FIRST_PAGE);
+        assertListQueryUses("idx_status_date_id");
+    }
+
+    @Test
+    void marketFilterUsesMarketDateIndex() {
+        recommendationRepository.findSummaries(RecommendationSpecifications.withFilters(market, null), FIRST_PAGE);
+        assertListQueryUses("idx_market_date_id");
+    }
+
+    @Test
+    void marketAndStatusFilterUsesMarketStatusDateIndex() {
+        recommendationRepository.findSummaries(RecommendationSpecifications.withFilters(market, status), FIRST_PAGE);
+        assertListQueryUses("idx_market_status_date_id");
+    }
+
+    @Test
+    void statusKeysetScrollUsesStatusDateIndex() {
+        Specification<Recommendation> spec = RecommendationSpecifications.withFilters(null, status)
+                .and(RecommendationSpecifications.before(LocalDate.of(2024, 1, 1), (long) ROWS));
+        recommendationRepository.findSummarySlice(spec, PageRequest.of(0, 20, LATEST_FIRST));
+        assertListQueryUses("idx_status_date_id");
+    }
+
+    // The list query is the first statement; findSummaries may follow it with a COUNT(*)
+    private void assertListQueryUses(String index) {
+        assertThat(EXECUTED).as("statements executed").isNotEmpty();
+        QueryInfo query = EXECUTED.get(0);
+        String sql = query.getQuery();
+        List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+                ? List.of() : query.getParametersList().get(0);
+
+        List<Map<String, Object>> plan = jdbcTemplate.query("EXPLAIN " + sql, statement -> {
+            for (ParameterSetOperation parameter : parameters) {
+                try {
+                    parameter.getMethod().invoke(statement, parameter.getArgs());
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Cannot bind " + parameter.getMethod().getName(), e);
+                }
+            }
+        }, new ColumnMapRowMapper());
+
+        assertThat(plan.get(0).get("key")).as("index chosen for %s", sql).isEqualTo(index);
+        assertThat(String.valueOf(plan.get(0).get("Extra"))).as("extra for %s", sql).doesNotContain("filesort");
+    }
+}